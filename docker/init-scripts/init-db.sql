@@ -1,3 +1,4 @@
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
 SET timezone = 'UTC';
 SELECT pg_reload_conf();
@@ -0,0 +1,36 @@
+package com.sencon.catapi.application.command.dto;
+
+public class BreedCollectionResult {
+
+    private final int inserted;
+    private final int updated;
+    private final int skipped;
+    private final int outdated;
+
+    public BreedCollectionResult(int inserted, int updated, int skipped, int outdated) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.skipped = skipped;
+        this.outdated = outdated;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getOutdated() {
+        return outdated;
+    }
+
+    public int getTotalProcessed() {
+        return inserted + updated;
+    }
+}
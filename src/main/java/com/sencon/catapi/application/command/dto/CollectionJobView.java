@@ -0,0 +1,24 @@
+package com.sencon.catapi.application.command.dto;
+
+import com.sencon.catapi.domain.enums.JobStatus;
+import com.sencon.catapi.domain.enums.JobType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record CollectionJobView(
+    UUID id,
+    JobType jobType,
+    JobStatus status,
+    String parameters,
+    String nodeId,
+    long itemsFetched,
+    long itemsPersisted,
+    long itemsFailed,
+    double throughputPerSecond,
+    String resultSummary,
+    String errorMessage,
+    LocalDateTime createdAt,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt
+) {}
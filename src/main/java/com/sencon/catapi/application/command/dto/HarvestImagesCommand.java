@@ -0,0 +1,44 @@
+package com.sencon.catapi.application.command.dto;
+
+public class HarvestImagesCommand {
+    
+    private int pageSize;
+    private int maxPagesPerSource;
+    private boolean restart;
+    
+    public HarvestImagesCommand() {
+        this.pageSize = 25;
+        this.maxPagesPerSource = 10;
+        this.restart = false;
+    }
+    
+    public HarvestImagesCommand(int pageSize, int maxPagesPerSource, boolean restart) {
+        this.pageSize = pageSize;
+        this.maxPagesPerSource = maxPagesPerSource;
+        this.restart = restart;
+    }
+    
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+    
+    public int getMaxPagesPerSource() {
+        return maxPagesPerSource;
+    }
+    
+    public void setMaxPagesPerSource(int maxPagesPerSource) {
+        this.maxPagesPerSource = maxPagesPerSource;
+    }
+    
+    public boolean isRestart() {
+        return restart;
+    }
+    
+    public void setRestart(boolean restart) {
+        this.restart = restart;
+    }
+}
@@ -0,0 +1,15 @@
+package com.sencon.catapi.application.command.dto;
+
+import com.sencon.catapi.domain.enums.JobStatus;
+
+import java.util.UUID;
+
+public record JobProgressView(
+    UUID id,
+    JobStatus status,
+    long itemsFetched,
+    long itemsPersisted,
+    long itemsFailed,
+    double throughputPerSecond,
+    long elapsedMillis
+) {}
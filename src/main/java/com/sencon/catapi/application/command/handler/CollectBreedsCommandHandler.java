@@ -1,6 +1,8 @@
 package com.sencon.catapi.application.command.handler;
 
+import com.sencon.catapi.application.command.dto.BreedCollectionResult;
 import com.sencon.catapi.application.command.dto.CollectBreedsCommand;
+import com.sencon.catapi.application.command.job.JobProgress;
 import com.sencon.catapi.application.command.service.BreedCollectionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,15 +21,16 @@ public class CollectBreedsCommandHandler {
         this.breedCollectionService = breedCollectionService;
     }
 
-    public CompletableFuture<Integer> handle(CollectBreedsCommand command) {
+    public CompletableFuture<BreedCollectionResult> handle(CollectBreedsCommand command, JobProgress progress) {
         logger.info("Processando comando de coleta de raças");
         
-        return breedCollectionService.collectBreeds(command.isForceUpdate())
+        return breedCollectionService.collectBreeds(command.isForceUpdate(), progress)
                 .whenComplete((result, throwable) -> {
                     if (throwable != null) {
                         logger.error("Erro ao processar comando de coleta de raças: ", throwable);
                     } else {
-                        logger.info("Comando de coleta de raças processado com sucesso. Raças processadas: {}", result);
+                        logger.info("Comando de coleta de raças processado com sucesso. Novas: {}, Atualizadas: {}, Ignoradas: {}, Desatualizadas: {}",
+                                   result.getInserted(), result.getUpdated(), result.getSkipped(), result.getOutdated());
                     }
                 });
     }
@@ -1,6 +1,7 @@
 package com.sencon.catapi.application.command.handler;
 
 import com.sencon.catapi.application.command.dto.CollectImagesCommand;
+import com.sencon.catapi.application.command.job.JobProgress;
 import com.sencon.catapi.application.command.service.ImageCollectionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,21 +22,21 @@ public class CollectImagesCommandHandler {
         this.imageCollectionService = imageCollectionService;
     }
 
-    public CompletableFuture<CollectionResult> handle(CollectImagesCommand command) {
+    public CompletableFuture<CollectionResult> handle(CollectImagesCommand command, JobProgress progress) {
         logger.info("Processando comando de coleta de imagens");
 
         List<CompletableFuture<Integer>> futures = new ArrayList<>();
 
         if (command.isCollectBreedImages()) {
-            futures.add(imageCollectionService.collectBreedImages(command.getImagesPerBreed()));
+            futures.add(imageCollectionService.collectBreedImages(command.getImagesPerBreed(), progress));
         }
 
         if (command.isCollectHatImages()) {
-            futures.add(imageCollectionService.collectHatImages(command.getSpecialImagesCount()));
+            futures.add(imageCollectionService.collectHatImages(command.getSpecialImagesCount(), progress));
         }
 
         if (command.isCollectSunglassesImages()) {
-            futures.add(imageCollectionService.collectSunglassesImages(command.getSpecialImagesCount()));
+            futures.add(imageCollectionService.collectSunglassesImages(command.getSpecialImagesCount(), progress));
         }
 
         return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
@@ -0,0 +1,35 @@
+package com.sencon.catapi.application.command.handler;
+
+import com.sencon.catapi.application.command.dto.HarvestImagesCommand;
+import com.sencon.catapi.application.command.job.JobProgress;
+import com.sencon.catapi.application.command.service.ImageHarvestService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class HarvestImagesCommandHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HarvestImagesCommandHandler.class);
+
+    private final ImageHarvestService imageHarvestService;
+
+    public HarvestImagesCommandHandler(ImageHarvestService imageHarvestService) {
+        this.imageHarvestService = imageHarvestService;
+    }
+
+    public CompletableFuture<Integer> handle(HarvestImagesCommand command, JobProgress progress) {
+        logger.info("Processando comando de harvest paginado de imagens");
+
+        return imageHarvestService.harvest(command.getPageSize(), command.getMaxPagesPerSource(), command.isRestart(), progress)
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        logger.error("Erro ao processar comando de harvest de imagens: ", throwable);
+                    } else {
+                        logger.info("Comando de harvest de imagens processado com sucesso. Novas imagens: {}", result);
+                    }
+                });
+    }
+}
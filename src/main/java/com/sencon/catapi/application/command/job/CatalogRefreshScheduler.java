@@ -0,0 +1,127 @@
+package com.sencon.catapi.application.command.job;
+
+import com.sencon.catapi.application.command.dto.CollectBreedsCommand;
+import com.sencon.catapi.application.command.dto.CollectImagesCommand;
+import com.sencon.catapi.application.command.dto.CollectionJobView;
+import com.sencon.catapi.application.command.handler.CollectBreedsCommandHandler;
+import com.sencon.catapi.application.command.handler.CollectImagesCommandHandler;
+import com.sencon.catapi.domain.enums.JobType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Atualização periódica do catálogo. Cada nó agenda as execuções com jitter; o lock de
+ * coleta garante que só um deles execute por vez e os demais pulam a rodada ao encontrar
+ * uma execução recente concluída na tabela collection_job.
+ */
+@Component
+@ConditionalOnProperty(name = "cat.api.refresh.enabled", havingValue = "true")
+public class CatalogRefreshScheduler implements SchedulingConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogRefreshScheduler.class);
+
+    private final CollectionJobService jobService;
+    private final CollectBreedsCommandHandler collectBreedsHandler;
+    private final CollectImagesCommandHandler collectImagesHandler;
+    private final Duration breedsInterval;
+    private final Duration imagesInterval;
+    private final Duration jitter;
+    private final int imagesPerBreed;
+    private final int specialImagesCount;
+
+    public CatalogRefreshScheduler(CollectionJobService jobService,
+                                   CollectBreedsCommandHandler collectBreedsHandler,
+                                   CollectImagesCommandHandler collectImagesHandler,
+                                   @Value("${cat.api.refresh.breeds-interval:PT6H}") Duration breedsInterval,
+                                   @Value("${cat.api.refresh.images-interval:PT12H}") Duration imagesInterval,
+                                   @Value("${cat.api.refresh.jitter:PT10M}") Duration jitter,
+                                   @Value("${cat.api.refresh.images-per-breed:3}") int imagesPerBreed,
+                                   @Value("${cat.api.refresh.special-images-count:3}") int specialImagesCount) {
+        this.jobService = jobService;
+        this.collectBreedsHandler = collectBreedsHandler;
+        this.collectImagesHandler = collectImagesHandler;
+        this.breedsInterval = breedsInterval;
+        this.imagesInterval = imagesInterval;
+        this.jitter = jitter;
+        this.imagesPerBreed = imagesPerBreed;
+        this.specialImagesCount = specialImagesCount;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        logger.info("Atualização agendada do catálogo habilitada. Raças a cada {}, imagens a cada {}, jitter de até {}",
+                   breedsInterval, imagesInterval, jitter);
+
+        registrar.addTriggerTask(this::refreshBreeds, jitteredTrigger(breedsInterval));
+        registrar.addTriggerTask(this::refreshImages, jitteredTrigger(imagesInterval));
+    }
+
+    void refreshBreeds() {
+        CollectBreedsCommand command = new CollectBreedsCommand(true);
+
+        refresh(JobType.COLLECT_BREEDS, List.of(JobType.COLLECT_BREEDS, JobType.COLLECT_ALL), breedsInterval,
+                "forceUpdate=true, scheduled=true",
+                progress -> collectBreedsHandler.handle(command, progress)
+                        .thenApply(result -> String.format("%d novas, %d atualizadas, %d ignoradas sem alteração",
+                                result.getInserted(), result.getUpdated(), result.getSkipped())));
+    }
+
+    void refreshImages() {
+        CollectImagesCommand command = new CollectImagesCommand(true, true, true, imagesPerBreed, specialImagesCount);
+
+        refresh(JobType.COLLECT_IMAGES, List.of(JobType.COLLECT_IMAGES, JobType.COLLECT_ALL), imagesInterval,
+                String.format("imagesPerBreed=%d, specialImagesCount=%d, scheduled=true", imagesPerBreed, specialImagesCount),
+                progress -> collectImagesHandler.handle(command, progress)
+                        .thenApply(result -> String.format("%d imagens coletadas em %d operações",
+                                result.getTotalImages(), result.getCollectionsExecuted())));
+    }
+
+    private void refresh(JobType jobType, List<JobType> equivalentJobs, Duration interval, String parameters,
+                         Function<JobProgress, CompletableFuture<String>> work) {
+        try {
+            Optional<CollectionJobView> lastRun = jobService.getLastCompleted(equivalentJobs);
+            LocalDateTime freshUntil = lastRun
+                    .map(CollectionJobView::finishedAt)
+                    .map(finishedAt -> finishedAt.plus(interval.minus(jitter)))
+                    .orElse(null);
+
+            if (freshUntil != null && LocalDateTime.now().isBefore(freshUntil)) {
+                CollectionJobView job = lastRun.get();
+                logger.info("Atualização agendada de {} ignorada: job {} concluído por {} em {} ({})",
+                           jobType, job.id(), job.nodeId(), job.finishedAt(), job.resultSummary());
+                return;
+            }
+
+            CollectionJobView job = jobService.submit(jobType, parameters, work);
+            logger.info("Atualização agendada de {} iniciada no job {}", jobType, job.id());
+        } catch (JobAlreadyRunningException e) {
+            logger.info("Atualização agendada de {} ignorada: {}", jobType, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Erro ao iniciar atualização agendada de {}: ", jobType, e);
+        }
+    }
+
+    private Trigger jitteredTrigger(Duration interval) {
+        return context -> {
+            Instant lastCompletion = context.lastCompletion();
+            Instant base = lastCompletion != null ? lastCompletion : Instant.now();
+            long jitterMillis = jitter.toMillis() > 0 ? ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1) : 0L;
+            return base.plus(interval).plusMillis(jitterMillis);
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package com.sencon.catapi.application.command.job;
+
+import com.sencon.catapi.domain.enums.JobStatus;
+import com.sencon.catapi.domain.enums.JobType;
+
+import java.util.UUID;
+
+public record CollectionJobCompletedEvent(UUID jobId, JobType jobType, JobStatus status, long itemsPersisted) {}
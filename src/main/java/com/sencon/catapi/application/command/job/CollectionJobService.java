@@ -0,0 +1,226 @@
+package com.sencon.catapi.application.command.job;
+
+import com.sencon.catapi.application.command.dto.CollectionJobView;
+import com.sencon.catapi.application.command.dto.JobProgressView;
+import com.sencon.catapi.domain.enums.JobStatus;
+import com.sencon.catapi.domain.enums.JobType;
+import com.sencon.catapi.domain.model.DatasetVersion;
+import com.sencon.catapi.infrastructure.persistence.entity.CollectionJobEntity;
+import com.sencon.catapi.infrastructure.persistence.repository.CollectionJobRepository;
+import com.sencon.catapi.infrastructure.persistence.repository.CollectionLockRepository;
+import com.sencon.catapi.infrastructure.persistence.repository.CollectionLockRepository.CollectionLock;
+import com.sencon.catapi.infrastructure.persistence.repository.DatasetVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Service
+public class CollectionJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollectionJobService.class);
+
+    private static final String COLLECTION_LOCK = "collection";
+
+    private final CollectionJobRepository jobRepository;
+    private final CollectionLockRepository lockRepository;
+    private final DatasetVersionRepository datasetVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+    private final Map<UUID, RunningJob> runningJobs = new ConcurrentHashMap<>();
+
+    public CollectionJobService(CollectionJobRepository jobRepository,
+                                CollectionLockRepository lockRepository,
+                                DatasetVersionRepository datasetVersionRepository,
+                                ApplicationEventPublisher eventPublisher) {
+        this.jobRepository = jobRepository;
+        this.lockRepository = lockRepository;
+        this.datasetVersionRepository = datasetVersionRepository;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = resolveNodeId();
+    }
+
+    public CollectionJobView submit(JobType jobType, String parameters,
+                                    Function<JobProgress, CompletableFuture<String>> work) {
+        // Um lock só para todos os tipos: uma coleta completa não pode rodar junto com a de raças ou a de imagens,
+        // então há no máximo uma coleta em execução no cluster
+        CollectionLock lock = lockRepository.tryLock(COLLECTION_LOCK)
+                .orElseThrow(() -> new JobAlreadyRunningException(jobType));
+
+        CollectionJobEntity job;
+        try {
+            job = jobRepository.save(new CollectionJobEntity(jobType, parameters, nodeId));
+        } catch (RuntimeException e) {
+            lock.close();
+            throw e;
+        }
+
+        logger.info("Job de coleta {} iniciado: {} ({})", job.getId(), jobType, parameters);
+
+        JobProgress progress = new JobProgress();
+        CompletableFuture<String> future;
+        try {
+            future = work.apply(progress);
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        UUID jobId = job.getId();
+        runningJobs.put(jobId, new RunningJob(progress));
+        future.whenComplete((summary, error) -> finish(jobId, jobType, progress, lock, summary, error));
+
+        return toView(job, progress);
+    }
+
+    public Optional<CollectionJobView> getJob(UUID jobId) {
+        RunningJob running = runningJobs.get(jobId);
+        return jobRepository.findById(jobId)
+                .map(job -> toView(job, running != null ? running.progress() : null));
+    }
+
+    public Optional<JobProgressView> getProgress(UUID jobId) {
+        RunningJob running = runningJobs.get(jobId);
+        if (running != null) {
+            JobProgress progress = running.progress();
+            return Optional.of(new JobProgressView(jobId, JobStatus.RUNNING,
+                    progress.getItemsFetched(), progress.getItemsPersisted(), progress.getItemsFailed(),
+                    progress.getThroughputPerSecond(), progress.getElapsedMillis()));
+        }
+
+        return jobRepository.findById(jobId).map(job -> {
+            long elapsedMillis = elapsedMillis(job);
+            double throughput = elapsedMillis > 0 ? job.getItemsPersisted() * 1000.0 / elapsedMillis : 0.0;
+            return new JobProgressView(jobId, job.getStatus(), job.getItemsFetched(),
+                    job.getItemsPersisted(), job.getItemsFailed(), throughput, elapsedMillis);
+        });
+    }
+
+    public Optional<CollectionJobView> getLastCompleted(List<JobType> jobTypes) {
+        return jobRepository.findFirstByJobTypeInAndStatusOrderByFinishedAtDesc(jobTypes, JobStatus.COMPLETED)
+                .map(job -> toView(job, null));
+    }
+
+    public List<CollectionJobView> getRecentJobs() {
+        return jobRepository.findTop20ByOrderByCreatedAtDesc().stream()
+                .map(job -> {
+                    RunningJob running = runningJobs.get(job.getId());
+                    return toView(job, running != null ? running.progress() : null);
+                })
+                .toList();
+    }
+
+    public boolean cancel(UUID jobId) {
+        RunningJob running = runningJobs.get(jobId);
+        if (running == null) {
+            return false;
+        }
+
+        // Só sinaliza: os pipelines param no próximo takeWhile e o job é finalizado quando terminarem de fato.
+        // Cancelar o future dispararia finish() com gravações ainda em andamento e liberaria o lock antes delas
+        logger.info("Cancelamento solicitado para o job {}", jobId);
+        running.progress().cancel();
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${cat.api.jobs.progress-flush-interval:5000}")
+    public void flushProgress() {
+        runningJobs.forEach((jobId, running) -> {
+            try {
+                JobProgress progress = running.progress();
+                jobRepository.updateProgress(jobId, progress.getItemsFetched(), progress.getItemsPersisted(),
+                        progress.getItemsFailed(), JobStatus.RUNNING);
+            } catch (Exception e) {
+                logger.warn("Erro ao registrar progresso do job {}: {}", jobId, e.getMessage());
+            }
+        });
+    }
+
+    private void finish(UUID jobId, JobType jobType, JobProgress progress, CollectionLock lock,
+                        String summary, Throwable error) {
+        runningJobs.remove(jobId);
+
+        JobStatus status = progress.isCancelled()
+                ? JobStatus.CANCELLED
+                : error != null ? JobStatus.FAILED : JobStatus.COMPLETED;
+
+        try {
+            // Antes do finished_at: quem reage ao fim do job (inclusive em outros nós) já enxerga a nova versão
+            if (progress.getItemsPersisted() > 0) {
+                DatasetVersion version = datasetVersionRepository.bump();
+                logger.info("Versão do catálogo incrementada para {} pelo job {}", version.version(), jobId);
+            }
+
+            jobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(status);
+                job.setItemsFetched(progress.getItemsFetched());
+                job.setItemsPersisted(progress.getItemsPersisted());
+                job.setItemsFailed(progress.getItemsFailed());
+                job.setResultSummary(summary);
+                job.setFinishedAt(LocalDateTime.now());
+                if (status == JobStatus.FAILED) {
+                    job.setErrorMessage(rootCauseMessage(error));
+                }
+                jobRepository.save(job);
+            });
+
+            logger.info("Job de coleta {} finalizado com status {}. Persistidos: {}, Falhas: {}",
+                       jobId, status, progress.getItemsPersisted(), progress.getItemsFailed());
+
+            eventPublisher.publishEvent(new CollectionJobCompletedEvent(jobId, jobType, status, progress.getItemsPersisted()));
+        } catch (Exception e) {
+            logger.error("Erro ao finalizar job de coleta {}: ", jobId, e);
+        } finally {
+            lock.close();
+        }
+    }
+
+    private CollectionJobView toView(CollectionJobEntity job, JobProgress liveProgress) {
+        long fetched = liveProgress != null ? liveProgress.getItemsFetched() : job.getItemsFetched();
+        long persisted = liveProgress != null ? liveProgress.getItemsPersisted() : job.getItemsPersisted();
+        long failed = liveProgress != null ? liveProgress.getItemsFailed() : job.getItemsFailed();
+        long elapsedMillis = liveProgress != null ? liveProgress.getElapsedMillis() : elapsedMillis(job);
+        double throughput = elapsedMillis > 0 ? persisted * 1000.0 / elapsedMillis : 0.0;
+
+        return new CollectionJobView(job.getId(), job.getJobType(), job.getStatus(), job.getParameters(),
+                job.getNodeId(), fetched, persisted, failed, throughput, job.getResultSummary(),
+                job.getErrorMessage(), job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt());
+    }
+
+    private long elapsedMillis(CollectionJobEntity job) {
+        if (job.getStartedAt() == null) {
+            return 0L;
+        }
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        return Duration.between(job.getStartedAt(), end).toMillis();
+    }
+
+    private String rootCauseMessage(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private static String resolveNodeId() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node-" + UUID.randomUUID();
+        }
+    }
+
+    private record RunningJob(JobProgress progress) {}
+}
@@ -0,0 +1,10 @@
+package com.sencon.catapi.application.command.job;
+
+import com.sencon.catapi.domain.enums.JobType;
+
+public class JobAlreadyRunningException extends RuntimeException {
+
+    public JobAlreadyRunningException(JobType jobType) {
+        super(String.format("%s: outra coleta já está em execução", jobType.getDescription()));
+    }
+}
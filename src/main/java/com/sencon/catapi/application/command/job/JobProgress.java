@@ -0,0 +1,58 @@
+package com.sencon.catapi.application.command.job;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class JobProgress {
+
+    private final AtomicLong itemsFetched = new AtomicLong();
+    private final AtomicLong itemsPersisted = new AtomicLong();
+    private final AtomicLong itemsFailed = new AtomicLong();
+    private final long startedAtNanos = System.nanoTime();
+    private volatile boolean cancelled;
+
+    public static JobProgress untracked() {
+        return new JobProgress();
+    }
+
+    public void addFetched(long count) {
+        itemsFetched.addAndGet(count);
+    }
+
+    public void addPersisted(long count) {
+        itemsPersisted.addAndGet(count);
+    }
+
+    public void addFailed(long count) {
+        itemsFailed.addAndGet(count);
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getItemsFetched() {
+        return itemsFetched.get();
+    }
+
+    public long getItemsPersisted() {
+        return itemsPersisted.get();
+    }
+
+    public long getItemsFailed() {
+        return itemsFailed.get();
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
+    public double getThroughputPerSecond() {
+        long elapsedMillis = getElapsedMillis();
+        return elapsedMillis > 0 ? itemsPersisted.get() * 1000.0 / elapsedMillis : 0.0;
+    }
+}
@@ -1,19 +1,22 @@
 package com.sencon.catapi.application.command.service;
 
+import com.sencon.catapi.application.command.dto.BreedCollectionResult;
+import com.sencon.catapi.application.command.job.JobProgress;
+import com.sencon.catapi.domain.event.BreedsChangedEvent;
 import com.sencon.catapi.domain.model.CatBreed;
 import com.sencon.catapi.infrastructure.external.client.CatApiClient;
 import com.sencon.catapi.infrastructure.external.mapper.CatApiMapper;
 import com.sencon.catapi.infrastructure.persistence.entity.CatBreedEntity;
 import com.sencon.catapi.infrastructure.persistence.mapper.CatBreedEntityMapper;
-import com.sencon.catapi.infrastructure.persistence.repository.CatBreedRepository;
+import com.sencon.catapi.infrastructure.persistence.repository.CatBreedBulkRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class BreedCollectionService {
@@ -22,74 +25,50 @@ public class BreedCollectionService {
 
     private final CatApiClient catApiClient;
     private final CatApiMapper catApiMapper;
-    private final CatBreedRepository breedRepository;
+    private final CatBreedBulkRepository breedBulkRepository;
     private final CatBreedEntityMapper breedEntityMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BreedCollectionService(CatApiClient catApiClient,
                                 CatApiMapper catApiMapper,
-                                CatBreedRepository breedRepository,
-                                CatBreedEntityMapper breedEntityMapper) {
+                                CatBreedBulkRepository breedBulkRepository,
+                                CatBreedEntityMapper breedEntityMapper,
+                                ApplicationEventPublisher eventPublisher) {
         this.catApiClient = catApiClient;
         this.catApiMapper = catApiMapper;
-        this.breedRepository = breedRepository;
+        this.breedBulkRepository = breedBulkRepository;
         this.breedEntityMapper = breedEntityMapper;
+        this.eventPublisher = eventPublisher;
     }
 
-    @Transactional
-    public CompletableFuture<Integer> collectBreeds(boolean forceUpdate) {
+    public CompletableFuture<BreedCollectionResult> collectBreeds(boolean forceUpdate, JobProgress progress) {
         logger.info("Iniciando coleta de raças. Force update: {}", forceUpdate);
 
         return catApiClient.getAllBreeds()
+                .takeWhile(breed -> !progress.isCancelled())
                 .map(catApiMapper::toDomain)
                 .collectList()
-                .map(breeds -> saveBreeds(breeds, forceUpdate))
+                .doOnNext(breeds -> progress.addFetched(breeds.size()))
+                .publishOn(Schedulers.boundedElastic())
+                .map(breeds -> saveBreeds(breeds, forceUpdate, progress))
                 .toFuture();
     }
 
-    private Integer saveBreeds(List<CatBreed> breeds, boolean forceUpdate) {
-        AtomicInteger savedCount = new AtomicInteger(0);
-        AtomicInteger updatedCount = new AtomicInteger(0);
+    private BreedCollectionResult saveBreeds(List<CatBreed> breeds, boolean forceUpdate, JobProgress progress) {
+        List<CatBreedEntity> entities = breedEntityMapper.toEntityList(breeds);
+        CatBreedBulkRepository.UpsertResult result = breedBulkRepository.upsert(entities, forceUpdate);
+        progress.addPersisted(result.inserted() + result.updated());
+        if (!result.written().isEmpty()) {
+            eventPublisher.publishEvent(new BreedsChangedEvent(result.written().stream()
+                    .map(row -> new BreedsChangedEvent.BreedChange(row.id(), row.origin(), row.temperament(), row.inserted()))
+                    .toList()));
+        }
 
-        breeds.parallelStream().forEach(breed -> {
-            try {
-                if (breedRepository.existsByExternalId(breed.getExternalId())) {
-                    if (forceUpdate) {
-                        updateExistingBreed(breed);
-                        updatedCount.incrementAndGet();
-                        logger.debug("Raça atualizada: {}", breed.getName());
-                    } else {
-                        logger.debug("Raça já existe, pulando: {}", breed.getName());
-                    }
-                } else {
-                    saveNewBreed(breed);
-                    savedCount.incrementAndGet();
-                    logger.debug("Nova raça salva: {}", breed.getName());
-                }
-            } catch (Exception e) {
-                logger.error("Erro ao processar raça {}: ", breed.getName(), e);
-            }
-        });
+        logger.info("Coleta de raças concluída. Novas: {}, Atualizadas: {}, Ignoradas sem alteração: {}, "
+                   + "Desatualizadas mantidas (sem forceUpdate): {}, Total: {}",
+                   result.inserted(), result.updated(), result.unchanged(), result.outdated(),
+                   result.inserted() + result.updated());
 
-        int totalProcessed = savedCount.get() + updatedCount.get();
-        logger.info("Coleta de raças concluída. Novas: {}, Atualizadas: {}, Total: {}", 
-                   savedCount.get(), updatedCount.get(), totalProcessed);
-
-        return totalProcessed;
-    }
-
-    private void saveNewBreed(CatBreed breed) {
-        CatBreedEntity entity = breedEntityMapper.toEntity(breed);
-        breedRepository.save(entity);
-    }
-
-    private void updateExistingBreed(CatBreed breed) {
-        breedRepository.findByExternalId(breed.getExternalId())
-                .ifPresent(existingEntity -> {
-                    existingEntity.setName(breed.getName());
-                    existingEntity.setOrigin(breed.getOrigin());
-                    existingEntity.setTemperament(breed.getTemperament());
-                    existingEntity.setDescription(breed.getDescription());
-                    breedRepository.save(existingEntity);
-                });
+        return new BreedCollectionResult(result.inserted(), result.updated(), result.unchanged(), result.outdated());
     }
 }
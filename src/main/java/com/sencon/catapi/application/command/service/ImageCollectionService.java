@@ -1,7 +1,8 @@
 package com.sencon.catapi.application.command.service;
 
+import com.sencon.catapi.application.command.job.JobProgress;
 import com.sencon.catapi.domain.enums.ImageType;
-import com.sencon.catapi.domain.model.CatImage;
+import com.sencon.catapi.domain.event.ImagesChangedEvent;
 import com.sencon.catapi.infrastructure.external.client.CatApiClient;
 import com.sencon.catapi.infrastructure.external.dto.CatApiImageDto;
 import com.sencon.catapi.infrastructure.external.mapper.CatApiMapper;
@@ -9,14 +10,23 @@ import com.sencon.catapi.infrastructure.persistence.entity.CatBreedEntity;
 import com.sencon.catapi.infrastructure.persistence.entity.CatImageEntity;
 import com.sencon.catapi.infrastructure.persistence.mapper.CatImageEntityMapper;
 import com.sencon.catapi.infrastructure.persistence.repository.CatBreedRepository;
-import com.sencon.catapi.infrastructure.persistence.repository.CatImageRepository;
+import com.sencon.catapi.infrastructure.persistence.repository.CatImageBulkRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -26,115 +36,178 @@ public class ImageCollectionService {
 
     private static final Logger logger = LoggerFactory.getLogger(ImageCollectionService.class);
 
+    private static final int STREAM_PERSIST_BATCH = 100;
+
     private final CatApiClient catApiClient;
     private final CatApiMapper catApiMapper;
-    private final CatImageRepository imageRepository;
+    private final CatImageBulkRepository imageBulkRepository;
     private final CatBreedRepository breedRepository;
     private final CatImageEntityMapper imageEntityMapper;
+    private final KnownImageIdRegistry knownImageIds;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxInFlight;
+    private final int queueDepth;
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicInteger pendingPages = new AtomicInteger();
 
     public ImageCollectionService(CatApiClient catApiClient,
                                 CatApiMapper catApiMapper,
-                                CatImageRepository imageRepository,
+                                CatImageBulkRepository imageBulkRepository,
                                 CatBreedRepository breedRepository,
-                                CatImageEntityMapper imageEntityMapper) {
+                                CatImageEntityMapper imageEntityMapper,
+                                KnownImageIdRegistry knownImageIds,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${cat.api.fan-out.max-in-flight:4}") int maxInFlight,
+                                @Value("${cat.api.fan-out.queue-depth:8}") int queueDepth) {
         this.catApiClient = catApiClient;
         this.catApiMapper = catApiMapper;
-        this.imageRepository = imageRepository;
+        this.imageBulkRepository = imageBulkRepository;
         this.breedRepository = breedRepository;
         this.imageEntityMapper = imageEntityMapper;
+        this.knownImageIds = knownImageIds;
+        this.eventPublisher = eventPublisher;
+        this.maxInFlight = maxInFlight;
+        this.queueDepth = queueDepth;
+
+        Gauge.builder("catapi.collection.fanout.in_flight", inFlightRequests, AtomicInteger::get)
+                .description("Requisições de imagens por raça em andamento na TheCatAPI")
+                .register(meterRegistry);
+        Gauge.builder("catapi.collection.fanout.queue_depth", pendingPages, AtomicInteger::get)
+                .description("Páginas de imagens recebidas aguardando persistência")
+                .register(meterRegistry);
     }
 
     @Async
     @Transactional
-    public CompletableFuture<Integer> collectBreedImages(int imagesPerBreed) {
+    public CompletableFuture<Integer> collectBreedImages(int imagesPerBreed, JobProgress progress) {
         logger.info("Iniciando coleta de imagens por raça. Limite: {} por raça", imagesPerBreed);
 
+        knownImageIds.ensureLoaded();
         List<CatBreedEntity> breeds = breedRepository.findAll();
-        AtomicInteger totalImages = new AtomicInteger(0);
-
-        List<CompletableFuture<Integer>> futures = breeds.stream()
-                .map(breed -> collectImagesForBreed(breed, imagesPerBreed))
-                .collect(Collectors.toList());
 
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                .thenApply(v -> {
-                    int total = futures.stream()
-                            .mapToInt(future -> future.join())
-                            .sum();
-                    logger.info("Coleta de imagens por raça concluída. Total: {} imagens", total);
-                    return total;
-                });
+        return Flux.fromIterable(breeds)
+                .takeWhile(breed -> !progress.isCancelled())
+                .flatMap(breed -> fetchBreedImages(breed, imagesPerBreed, progress), maxInFlight)
+                .publishOn(Schedulers.boundedElastic(), queueDepth)
+                .map(page -> {
+                    try {
+                        return saveBreedImages(page.images(), page.breed(), imagesPerBreed, progress);
+                    } finally {
+                        pendingPages.decrementAndGet();
+                    }
+                })
+                .reduce(0, Integer::sum)
+                .doOnNext(total -> logger.info("Coleta de imagens por raça concluída. Total: {} imagens", total))
+                .toFuture();
     }
 
     @Async
     @Transactional
-    public CompletableFuture<Integer> collectHatImages(int limit) {
+    public CompletableFuture<Integer> collectHatImages(int limit, JobProgress progress) {
         logger.info("Iniciando coleta de imagens com chapéu. Limite: {}", limit);
+        knownImageIds.ensureLoaded();
 
-        return catApiClient.getImagesWithHats(limit)
-                .map(images -> saveSpecialImages(images, ImageType.HAT))
-                .toFuture();
+        return streamSpecialImages(catApiClient.getImagesWithHats(limit), ImageType.HAT, progress);
     }
 
     @Async
     @Transactional
-    public CompletableFuture<Integer> collectSunglassesImages(int limit) {
+    public CompletableFuture<Integer> collectSunglassesImages(int limit, JobProgress progress) {
         logger.info("Iniciando coleta de imagens com óculos. Limite: {}", limit);
+        knownImageIds.ensureLoaded();
+
+        return streamSpecialImages(catApiClient.getImagesWithSunglasses(limit), ImageType.SUNGLASSES, progress);
+    }
 
-        return catApiClient.getImagesWithSunglasses(limit)
-                .map(images -> saveSpecialImages(images, ImageType.SUNGLASSES))
+    private CompletableFuture<Integer> streamSpecialImages(Flux<CatApiImageDto> images, ImageType imageType,
+                                                          JobProgress progress) {
+        return images
+                .takeWhile(image -> !progress.isCancelled())
+                .doOnNext(image -> progress.addFetched(1))
+                .buffer(STREAM_PERSIST_BATCH)
+                .publishOn(Schedulers.boundedElastic(), queueDepth)
+                .map(batch -> saveSpecialImages(batch, imageType, progress))
+                .reduce(0, Integer::sum)
+                .doOnNext(total -> logger.info("Coleta de imagens do tipo {} concluída. Total: {} imagens", imageType, total))
                 .toFuture();
     }
 
-    private CompletableFuture<Integer> collectImagesForBreed(CatBreedEntity breed, int limit) {
+    private Mono<BreedImagePage> fetchBreedImages(CatBreedEntity breed, int limit, JobProgress progress) {
         return catApiClient.getImagesByBreed(breed.getExternalId(), limit)
                 .collectList()
-                .map(images -> saveBreedImages(images, breed, limit))
-                .toFuture();
+                .doOnSubscribe(subscription -> inFlightRequests.incrementAndGet())
+                .doFinally(signal -> inFlightRequests.decrementAndGet())
+                .doOnNext(images -> progress.addFetched(images.size()))
+                .map(images -> new BreedImagePage(breed, images))
+                .doOnNext(page -> pendingPages.incrementAndGet())
+                .onErrorResume(error -> {
+                    logger.error("Erro ao buscar imagens da raça {}: ", breed.getName(), error);
+                    progress.addFailed(1);
+                    return Mono.empty();
+                });
     }
 
-    private Integer saveBreedImages(List<CatApiImageDto> imageDtos, CatBreedEntity breed, int limit) {
-        AtomicInteger savedCount = new AtomicInteger(0);
-
-        imageDtos.stream()
-                .limit(limit)
-                .forEach(imageDto -> {
-                    try {
-                        if (!imageRepository.existsByExternalId(imageDto.getId())) {
-                            CatImage catImage = catApiMapper.toDomain(imageDto, ImageType.BREED, breed.getId());
-                            CatImageEntity entity = imageEntityMapper.toEntity(catImage);
-                            imageRepository.save(entity);
-                            savedCount.incrementAndGet();
-                            logger.debug("Imagem salva para raça {}: {}", breed.getName(), imageDto.getUrl());
-                        }
-                    } catch (Exception e) {
-                        logger.error("Erro ao salvar imagem {} para raça {}: ", imageDto.getId(), breed.getName(), e);
-                    }
-                });
+    // Sem cursor para retomar, um lote que falhou fica registrado como falha e a coleta segue com os próximos
+    private Integer saveBreedImages(List<CatApiImageDto> imageDtos, CatBreedEntity breed, int limit, JobProgress progress) {
+        try {
+            int savedCount = ingestImages(imageDtos.stream().limit(limit).collect(Collectors.toList()),
+                                          ImageType.BREED, breed.getId(), progress);
+            logger.debug("Salvas {} imagens para a raça: {}", savedCount, breed.getName());
+            return savedCount;
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
 
-        logger.debug("Salvas {} imagens para a raça: {}", savedCount.get(), breed.getName());
-        return savedCount.get();
+    private Integer saveSpecialImages(List<CatApiImageDto> imageDtos, ImageType imageType, JobProgress progress) {
+        try {
+            int savedCount = ingestImages(imageDtos, imageType, null, progress);
+            logger.debug("Salvas {} imagens do tipo: {}", savedCount, imageType);
+            return savedCount;
+        } catch (RuntimeException e) {
+            return 0;
+        }
     }
 
-    private Integer saveSpecialImages(List<CatApiImageDto> imageDtos, ImageType imageType) {
-        AtomicInteger savedCount = new AtomicInteger(0);
+    /**
+     * Grava as imagens ainda não conhecidas. Uma falha na gravação é registrada no progresso e propagada,
+     * para que o harvest não avance o cursor da página que não foi salva.
+     */
+    public int ingestImages(List<CatApiImageDto> imageDtos, ImageType imageType, UUID breedId, JobProgress progress) {
+        List<CatImageEntity> newImages = imageDtos.stream()
+                .filter(imageDto -> !knownImageIds.isKnown(imageDto.getId()))
+                .map(imageDto -> breedId != null
+                        ? catApiMapper.toDomain(imageDto, imageType, breedId)
+                        : catApiMapper.toDomain(imageDto, imageType))
+                .map(imageEntityMapper::toEntity)
+                .collect(Collectors.toList());
 
-        imageDtos.parallelStream()
-                .forEach(imageDto -> {
-                    try {
-                        if (!imageRepository.existsByExternalId(imageDto.getId())) {
-                            CatImage catImage = catApiMapper.toDomain(imageDto, imageType);
-                            CatImageEntity entity = imageEntityMapper.toEntity(catImage);
-                            imageRepository.save(entity);
-                            savedCount.incrementAndGet();
-                            logger.debug("Imagem especial salva ({}): {}", imageType, imageDto.getUrl());
-                        }
-                    } catch (Exception e) {
-                        logger.error("Erro ao salvar imagem especial {} ({}): ", imageDto.getId(), imageType, e);
-                    }
-                });
+        int inserted = persistNewImages(newImages, breedId != null ? breedId.toString() : imageType.name(), progress);
+        if (inserted > 0 && breedId != null) {
+            eventPublisher.publishEvent(new ImagesChangedEvent(Set.of(breedId)));
+        }
+        return inserted;
+    }
 
-        logger.info("Salvas {} imagens do tipo: {}", savedCount.get(), imageType);
-        return savedCount.get();
+    private int persistNewImages(List<CatImageEntity> newImages, String source, JobProgress progress) {
+        if (newImages.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            int inserted = imageBulkRepository.insertNew(newImages);
+            knownImageIds.markKnown(newImages.stream()
+                    .map(CatImageEntity::getExternalId)
+                    .collect(Collectors.toList()));
+            progress.addPersisted(inserted);
+            return inserted;
+        } catch (RuntimeException e) {
+            logger.error("Erro ao salvar lote de {} imagens ({}): ", newImages.size(), source, e);
+            progress.addFailed(newImages.size());
+            throw e;
+        }
     }
+
+    private record BreedImagePage(CatBreedEntity breed, List<CatApiImageDto> images) {}
 }
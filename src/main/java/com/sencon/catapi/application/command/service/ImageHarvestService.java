@@ -0,0 +1,133 @@
+package com.sencon.catapi.application.command.service;
+
+import com.sencon.catapi.application.command.job.JobProgress;
+import com.sencon.catapi.domain.enums.ImageType;
+import com.sencon.catapi.infrastructure.external.client.CatApiClient;
+import com.sencon.catapi.infrastructure.external.dto.CatApiImageDto;
+import com.sencon.catapi.infrastructure.persistence.entity.ImageHarvestCursorEntity;
+import com.sencon.catapi.infrastructure.persistence.repository.CatBreedRepository;
+import com.sencon.catapi.infrastructure.persistence.repository.ImageHarvestCursorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class ImageHarvestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageHarvestService.class);
+
+    private static final int HAT_CATEGORY_ID = 1;
+    private static final int SUNGLASSES_CATEGORY_ID = 4;
+
+    private final CatApiClient catApiClient;
+    private final CatBreedRepository breedRepository;
+    private final ImageHarvestCursorRepository cursorRepository;
+    private final ImageCollectionService imageCollectionService;
+    private final KnownImageIdRegistry knownImageIds;
+    private final int maxInFlight;
+
+    public ImageHarvestService(CatApiClient catApiClient,
+                               CatBreedRepository breedRepository,
+                               ImageHarvestCursorRepository cursorRepository,
+                               ImageCollectionService imageCollectionService,
+                               KnownImageIdRegistry knownImageIds,
+                               @Value("${cat.api.fan-out.max-in-flight:4}") int maxInFlight) {
+        this.catApiClient = catApiClient;
+        this.breedRepository = breedRepository;
+        this.cursorRepository = cursorRepository;
+        this.imageCollectionService = imageCollectionService;
+        this.knownImageIds = knownImageIds;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public CompletableFuture<Integer> harvest(int pageSize, int maxPagesPerSource, boolean restart, JobProgress progress) {
+        logger.info("Iniciando harvest paginado de imagens. Página: {}, Máx. páginas por fonte: {}, Reiniciar: {}",
+                   pageSize, maxPagesPerSource, restart);
+
+        return Mono.fromCallable(() -> prepareSources(restart))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(Flux::fromIterable)
+                .takeWhile(source -> !progress.isCancelled())
+                .flatMap(source -> harvestSource(source, pageSize, maxPagesPerSource, progress), maxInFlight)
+                .reduce(0, Integer::sum)
+                .doOnNext(total -> logger.info("Harvest de imagens concluído. Novas imagens: {}", total))
+                .toFuture();
+    }
+
+    private List<HarvestSource> prepareSources(boolean restart) {
+        if (restart) {
+            cursorRepository.deleteAllInBatch();
+        }
+        knownImageIds.ensureLoaded();
+
+        List<HarvestSource> sources = new ArrayList<>();
+        breedRepository.findAll().forEach(breed -> sources.add(new HarvestSource(
+                "breed:" + breed.getExternalId(), ImageType.BREED, breed.getExternalId(), null, breed.getId())));
+        sources.add(new HarvestSource("category:" + HAT_CATEGORY_ID, ImageType.HAT, null, HAT_CATEGORY_ID, null));
+        sources.add(new HarvestSource("category:" + SUNGLASSES_CATEGORY_ID, ImageType.SUNGLASSES, null, SUNGLASSES_CATEGORY_ID, null));
+        return sources;
+    }
+
+    private Mono<Integer> harvestSource(HarvestSource source, int pageSize, int maxPages, JobProgress progress) {
+        return Mono.fromCallable(() -> cursorRepository.findById(source.key())
+                        .orElseGet(() -> new ImageHarvestCursorEntity(source.key())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(cursor -> {
+                    if (cursor.isExhausted()) {
+                        logger.debug("Fonte {} já esgotada, pulando", source.key());
+                        return Mono.just(0);
+                    }
+
+                    return Flux.range(cursor.getNextPage(), maxPages)
+                            .takeWhile(page -> !progress.isCancelled())
+                            .concatMap(page -> fetchPage(source, page, pageSize)
+                                    .doOnNext(images -> progress.addFetched(images.size()))
+                                    .map(images -> new HarvestedPage(page, images)))
+                            .takeUntil(harvested -> harvested.images().size() < pageSize)
+                            .publishOn(Schedulers.boundedElastic(), 1)
+                            .map(harvested -> persistPage(source, cursor, harvested, pageSize, progress))
+                            .reduce(0, Integer::sum);
+                })
+                .onErrorResume(error -> {
+                    logger.error("Harvest da fonte {} interrompido; será retomado do cursor salvo: ", source.key(), error);
+                    progress.addFailed(1);
+                    return Mono.just(0);
+                });
+    }
+
+    private Mono<List<CatApiImageDto>> fetchPage(HarvestSource source, int page, int pageSize) {
+        Flux<CatApiImageDto> images = source.categoryId() != null
+                ? catApiClient.getImagesPageByCategory(source.categoryId(), page, pageSize)
+                : catApiClient.getImagesPageByBreed(source.breedExternalId(), page, pageSize);
+        return images.collectList();
+    }
+
+    // Se a gravação falhar a exceção sobe antes de o cursor avançar: a página é buscada de novo na próxima execução
+    private int persistPage(HarvestSource source, ImageHarvestCursorEntity cursor, HarvestedPage harvested,
+                            int pageSize, JobProgress progress) {
+        int saved = imageCollectionService.ingestImages(harvested.images(), source.imageType(), source.breedId(), progress);
+
+        cursor.setNextPage(harvested.page() + 1);
+        cursor.setExhausted(harvested.images().size() < pageSize);
+        cursor.setHarvestedCount(cursor.getHarvestedCount() + saved);
+        cursorRepository.save(cursor);
+
+        logger.debug("Fonte {} página {}: {} recebidas, {} novas", source.key(), harvested.page(),
+                    harvested.images().size(), saved);
+        return saved;
+    }
+
+    private record HarvestSource(String key, ImageType imageType, String breedExternalId,
+                                 Integer categoryId, UUID breedId) {}
+
+    private record HarvestedPage(int page, List<CatApiImageDto> images) {}
+}
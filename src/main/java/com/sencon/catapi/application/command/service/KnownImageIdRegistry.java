@@ -0,0 +1,127 @@
+package com.sencon.catapi.application.command.service;
+
+import com.sencon.catapi.infrastructure.persistence.repository.CatImageBulkRepository;
+import com.sencon.catapi.infrastructure.persistence.repository.DatasetVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Impressões digitais de 64 bits dos external_id já persistidos em cat_image,
+ * em tabela de endereçamento aberto (8 bytes por ID). O INSERT ... ON CONFLICT
+ * continua sendo a garantia final contra duplicidade.
+ * <p>
+ * A tabela é recarregada quando a versão do catálogo muda desde a última carga, o que cobre
+ * imagens inseridas por coletas de outros nós.
+ */
+@Component
+public class KnownImageIdRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(KnownImageIdRegistry.class);
+
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final long EMPTY = 0L;
+
+    private final CatImageBulkRepository imageBulkRepository;
+    private final DatasetVersionRepository datasetVersionRepository;
+
+    private long[] table = new long[INITIAL_CAPACITY];
+    private int size;
+    private Long loadedVersion;
+
+    public KnownImageIdRegistry(CatImageBulkRepository imageBulkRepository,
+                                DatasetVersionRepository datasetVersionRepository) {
+        this.imageBulkRepository = imageBulkRepository;
+        this.datasetVersionRepository = datasetVersionRepository;
+    }
+
+    public synchronized void ensureLoaded() {
+        long version = datasetVersionRepository.current().version();
+        if (loadedVersion != null && loadedVersion == version) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        table = new long[INITIAL_CAPACITY];
+        size = 0;
+        imageBulkRepository.forEachExternalId(this::add);
+        loadedVersion = version;
+
+        logger.info("Carregados {} IDs de imagens conhecidas (versão do catálogo {}) em {} ms",
+                   size, version, System.currentTimeMillis() - start);
+    }
+
+    public synchronized boolean isKnown(String externalId) {
+        long fingerprint = fingerprint(externalId);
+        int mask = table.length - 1;
+        int slot = (int) fingerprint & mask;
+
+        while (table[slot] != EMPTY) {
+            if (table[slot] == fingerprint) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public synchronized void markKnown(Collection<String> externalIds) {
+        externalIds.forEach(this::add);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void add(String externalId) {
+        if (externalId == null) {
+            return;
+        }
+        if ((size + 1) * 2 > table.length) {
+            resize();
+        }
+        if (insert(table, fingerprint(externalId))) {
+            size++;
+        }
+    }
+
+    private void resize() {
+        long[] resized = new long[table.length * 2];
+        for (long fingerprint : table) {
+            if (fingerprint != EMPTY) {
+                insert(resized, fingerprint);
+            }
+        }
+        table = resized;
+    }
+
+    private static boolean insert(long[] target, long fingerprint) {
+        int mask = target.length - 1;
+        int slot = (int) fingerprint & mask;
+
+        while (target[slot] != EMPTY) {
+            if (target[slot] == fingerprint) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        target[slot] = fingerprint;
+        return true;
+    }
+
+    private static long fingerprint(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == EMPTY ? 1L : hash;
+    }
+}
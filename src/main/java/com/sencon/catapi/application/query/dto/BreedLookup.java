@@ -0,0 +1,13 @@
+package com.sencon.catapi.application.query.dto;
+
+import java.util.UUID;
+
+/**
+ * Resultado de um ID consultado em lote: {@code found=false} e {@code breed} nulo quando a raça não existe.
+ */
+public record BreedLookup<T>(UUID id, boolean found, T breed) {
+
+    public static <T> BreedLookup<T> of(UUID id, T breed) {
+        return new BreedLookup<>(id, breed != null, breed);
+    }
+}
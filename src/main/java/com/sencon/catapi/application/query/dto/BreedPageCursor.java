@@ -0,0 +1,48 @@
+package com.sencon.catapi.application.query.dto;
+
+import com.sencon.catapi.domain.enums.BreedSortField;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição da última raça entregue em uma página: valor da chave de ordenação e id (desempate).
+ * Serializado em base64url para o cliente tratá-lo como opaco; a ordenação vai junto para rejeitar
+ * cursores reaproveitados com outro sortBy/sortDirection.
+ */
+public record BreedPageCursor(BreedSortField sortField, Sort.Direction direction, String sortKey, UUID lastId) {
+
+    private static final char SEPARATOR = '\u001F';
+
+    public String encode() {
+        String raw = sortField.name() + SEPARATOR + direction.name() + SEPARATOR + lastId + SEPARATOR + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BreedPageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new BreedPageCursor(BreedSortField.valueOf(parts[0]), Sort.Direction.valueOf(parts[1]),
+                    parts[3], UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    /**
+     * Decodifica um cursor que precisa ter sido gerado para a ordenação pedida.
+     */
+    public static BreedPageCursor decode(String cursor, BreedSortField sortField, Sort.Direction direction) {
+        BreedPageCursor decoded = decode(cursor);
+        if (decoded.sortField() != sortField || decoded.direction() != direction) {
+            throw new IllegalArgumentException("Cursor gerado para outra ordenação");
+        }
+        return decoded;
+    }
+}
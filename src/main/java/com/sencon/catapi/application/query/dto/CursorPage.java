@@ -0,0 +1,6 @@
+package com.sencon.catapi.application.query.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> items, int pageSize, boolean hasNext, String nextCursor) {
+}
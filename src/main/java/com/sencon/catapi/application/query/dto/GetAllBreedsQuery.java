@@ -5,6 +5,9 @@ public class GetAllBreedsQuery {
     private boolean includeImages;
     private String sortBy;
     private String sortDirection;
+    private String cursor;
+    private Integer pageSize;
+    private boolean summary;
     
     public GetAllBreedsQuery() {
         this.includeImages = false;
@@ -18,6 +21,18 @@ public class GetAllBreedsQuery {
         this.sortDirection = sortDirection != null ? sortDirection : "ASC";
     }
     
+    public GetAllBreedsQuery(boolean includeImages, String sortBy, String sortDirection, String cursor, Integer pageSize) {
+        this(includeImages, sortBy, sortDirection);
+        this.cursor = cursor;
+        this.pageSize = pageSize;
+    }
+    
+    public GetAllBreedsQuery(boolean includeImages, String sortBy, String sortDirection, String cursor, Integer pageSize,
+                             boolean summary) {
+        this(includeImages, sortBy, sortDirection, cursor, pageSize);
+        this.summary = summary;
+    }
+    
     public boolean isIncludeImages() {
         return includeImages;
     }
@@ -41,4 +56,32 @@ public class GetAllBreedsQuery {
     public void setSortDirection(String sortDirection) {
         this.sortDirection = sortDirection;
     }
+    
+    public String getCursor() {
+        return cursor;
+    }
+    
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+    
+    public Integer getPageSize() {
+        return pageSize;
+    }
+    
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+    
+    public boolean isSummary() {
+        return summary;
+    }
+    
+    public void setSummary(boolean summary) {
+        this.summary = summary;
+    }
+    
+    public boolean isPaginated() {
+        return pageSize != null || cursor != null;
+    }
 }
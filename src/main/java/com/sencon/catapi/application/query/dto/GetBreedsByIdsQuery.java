@@ -0,0 +1,34 @@
+package com.sencon.catapi.application.query.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public class GetBreedsByIdsQuery {
+    
+    private List<UUID> breedIds;
+    private boolean includeImages;
+    
+    public GetBreedsByIdsQuery() {
+    }
+    
+    public GetBreedsByIdsQuery(List<UUID> breedIds, boolean includeImages) {
+        this.breedIds = breedIds;
+        this.includeImages = includeImages;
+    }
+    
+    public List<UUID> getBreedIds() {
+        return breedIds;
+    }
+    
+    public void setBreedIds(List<UUID> breedIds) {
+        this.breedIds = breedIds;
+    }
+    
+    public boolean isIncludeImages() {
+        return includeImages;
+    }
+    
+    public void setIncludeImages(boolean includeImages) {
+        this.includeImages = includeImages;
+    }
+}
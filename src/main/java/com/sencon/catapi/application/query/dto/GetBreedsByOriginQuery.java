@@ -4,6 +4,7 @@ public class GetBreedsByOriginQuery {
     
     private String origin;
     private boolean includeImages;
+    private boolean summary;
     
     public GetBreedsByOriginQuery() {
     }
@@ -13,6 +14,11 @@ public class GetBreedsByOriginQuery {
         this.includeImages = includeImages;
     }
     
+    public GetBreedsByOriginQuery(String origin, boolean includeImages, boolean summary) {
+        this(origin, includeImages);
+        this.summary = summary;
+    }
+    
     public String getOrigin() {
         return origin;
     }
@@ -28,4 +34,12 @@ public class GetBreedsByOriginQuery {
     public void setIncludeImages(boolean includeImages) {
         this.includeImages = includeImages;
     }
+    
+    public boolean isSummary() {
+        return summary;
+    }
+    
+    public void setSummary(boolean summary) {
+        this.summary = summary;
+    }
 }
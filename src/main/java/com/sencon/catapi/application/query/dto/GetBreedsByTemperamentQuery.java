@@ -1,24 +1,49 @@
 package com.sencon.catapi.application.query.dto;
 
+import com.sencon.catapi.domain.enums.TemperamentMatch;
+
+import java.util.List;
+
 public class GetBreedsByTemperamentQuery {
     
-    private String temperament;
+    private List<String> temperaments;
+    private TemperamentMatch match = TemperamentMatch.ANY;
     private boolean includeImages;
+    private boolean summary;
     
     public GetBreedsByTemperamentQuery() {
     }
     
     public GetBreedsByTemperamentQuery(String temperament, boolean includeImages) {
-        this.temperament = temperament;
+        this(List.of(temperament), TemperamentMatch.ANY, includeImages);
+    }
+    
+    public GetBreedsByTemperamentQuery(List<String> temperaments, TemperamentMatch match, boolean includeImages) {
+        this.temperaments = temperaments;
+        this.match = match;
         this.includeImages = includeImages;
     }
     
-    public String getTemperament() {
-        return temperament;
+    public GetBreedsByTemperamentQuery(List<String> temperaments, TemperamentMatch match, boolean includeImages,
+                                       boolean summary) {
+        this(temperaments, match, includeImages);
+        this.summary = summary;
+    }
+    
+    public List<String> getTemperaments() {
+        return temperaments;
+    }
+    
+    public void setTemperaments(List<String> temperaments) {
+        this.temperaments = temperaments;
+    }
+    
+    public TemperamentMatch getMatch() {
+        return match;
     }
     
-    public void setTemperament(String temperament) {
-        this.temperament = temperament;
+    public void setMatch(TemperamentMatch match) {
+        this.match = match;
     }
     
     public boolean isIncludeImages() {
@@ -28,4 +53,12 @@ public class GetBreedsByTemperamentQuery {
     public void setIncludeImages(boolean includeImages) {
         this.includeImages = includeImages;
     }
+    
+    public boolean isSummary() {
+        return summary;
+    }
+    
+    public void setSummary(boolean summary) {
+        this.summary = summary;
+    }
 }
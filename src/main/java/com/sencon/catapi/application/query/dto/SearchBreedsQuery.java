@@ -0,0 +1,45 @@
+package com.sencon.catapi.application.query.dto;
+
+public class SearchBreedsQuery {
+    
+    private String text;
+    private int limit;
+    private boolean summary;
+    
+    public SearchBreedsQuery() {
+    }
+    
+    public SearchBreedsQuery(String text, int limit) {
+        this.text = text;
+        this.limit = limit;
+    }
+    
+    public SearchBreedsQuery(String text, int limit, boolean summary) {
+        this(text, limit);
+        this.summary = summary;
+    }
+    
+    public String getText() {
+        return text;
+    }
+    
+    public void setText(String text) {
+        this.text = text;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+    
+    public boolean isSummary() {
+        return summary;
+    }
+    
+    public void setSummary(boolean summary) {
+        this.summary = summary;
+    }
+}
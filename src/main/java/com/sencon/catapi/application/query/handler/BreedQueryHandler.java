@@ -2,13 +2,19 @@ package com.sencon.catapi.application.query.handler;
 
 import com.sencon.catapi.application.query.dto.*;
 import com.sencon.catapi.application.query.service.BreedQueryService;
+import com.sencon.catapi.domain.enums.BreedSortField;
+import com.sencon.catapi.domain.model.BreedSummary;
 import com.sencon.catapi.domain.model.CatBreed;
+import com.sencon.catapi.domain.model.TemperamentTags;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 @Component
@@ -16,17 +22,46 @@ public class BreedQueryHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(BreedQueryHandler.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final BreedQueryService breedQueryService;
+    private final int maxBatchIds;
 
-    public BreedQueryHandler(BreedQueryService breedQueryService) {
+    public BreedQueryHandler(BreedQueryService breedQueryService,
+                             @Value("${cat.api.batch.max-ids:100}") int maxBatchIds) {
         this.breedQueryService = breedQueryService;
+        this.maxBatchIds = maxBatchIds;
     }
 
     public CompletableFuture<Object> handle(GetAllBreedsQuery query) {
-        logger.debug("Processando consulta de todas as raças. Include images: {}", query.isIncludeImages());
+        logger.debug("Processando consulta de todas as raças. Include images: {}, Sort: {} {}, Página: {}", 
+                    query.isIncludeImages(), query.getSortBy(), query.getSortDirection(), query.getPageSize());
+
+        BreedSortField sortField = BreedSortField.fromProperty(query.getSortBy());
+        Sort.Direction direction = Sort.Direction.fromString(query.getSortDirection());
+
+        if (query.isPaginated()) {
+            int pageSize = query.getPageSize() != null ? query.getPageSize() : DEFAULT_PAGE_SIZE;
+            CursorPage<?> page;
+            if (query.isIncludeImages()) {
+                page = breedQueryService.getBreedsPageWithImages(sortField, direction, query.getCursor(), pageSize);
+            } else if (query.isSummary()) {
+                page = breedQueryService.getBreedSummariesPage(sortField, direction, query.getCursor(), pageSize);
+            } else {
+                page = breedQueryService.getBreedsPage(sortField, direction, query.getCursor(), pageSize);
+            }
+            logger.debug("Página de raças processada com sucesso. Itens: {}, Próxima: {}", page.items().size(), page.hasNext());
+            return CompletableFuture.completedFuture(page);
+        }
+
+        if (query.isSummary() && !query.isIncludeImages()) {
+            List<BreedSummary> summaries = breedQueryService.getAllBreedSummaries(sortField, direction);
+            logger.debug("Consulta de resumo das raças processada com sucesso. Total: {}", summaries.size());
+            return CompletableFuture.completedFuture(summaries);
+        }
 
         if (query.isIncludeImages()) {
-            return breedQueryService.getAllBreedsWithImages()
+            return breedQueryService.getAllBreedsWithImages(sortField, direction)
                     .thenApply(breeds -> (Object) breeds)
                     .whenComplete((result, throwable) -> {
                         if (throwable != null) {
@@ -38,7 +73,7 @@ public class BreedQueryHandler {
                         }
                     });
         } else {
-            return CompletableFuture.completedFuture((Object) breedQueryService.getAllBreeds())
+            return CompletableFuture.completedFuture((Object) breedQueryService.getAllBreeds(sortField, direction))
                     .whenComplete((result, throwable) -> {
                         if (throwable != null) {
                             logger.error("Erro ao processar consulta de todas as raças: ", throwable);
@@ -80,16 +115,37 @@ public class BreedQueryHandler {
         }
     }
 
+    public CompletableFuture<Object> handle(GetBreedsByIdsQuery query) {
+        List<UUID> breedIds = query.getBreedIds();
+        logger.debug("Processando consulta de raças em lote. IDs: {}, Include images: {}",
+                    breedIds != null ? breedIds.size() : 0, query.isIncludeImages());
+
+        if (breedIds == null || breedIds.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um ID de raça");
+        }
+        if (breedIds.size() > maxBatchIds) {
+            throw new IllegalArgumentException(String.format("Máximo de %d IDs por lote; recebidos %d", maxBatchIds, breedIds.size()));
+        }
+
+        List<? extends BreedLookup<?>> results = query.isIncludeImages()
+                ? breedQueryService.getBreedsWithImagesByIds(breedIds)
+                : breedQueryService.getBreedsByIds(breedIds);
+        logger.debug("Consulta de raças em lote processada. Encontradas: {} de {}",
+                    results.stream().filter(BreedLookup::found).count(), results.size());
+        return CompletableFuture.completedFuture(results);
+    }
+
     public CompletableFuture<Object> handle(GetBreedsByTemperamentQuery query) {
-        logger.debug("Processando consulta de raças por temperamento: {}. Include images: {}", 
-                    query.getTemperament(), query.isIncludeImages());
+        List<String> tags = TemperamentTags.of(query.getTemperaments());
+        logger.debug("Processando consulta de raças por temperamento: {} ({}). Include images: {}", 
+                    tags, query.getMatch(), query.isIncludeImages());
 
         if (query.isIncludeImages()) {
-            return breedQueryService.getBreedsByTemperamentWithImages(query.getTemperament())
+            return breedQueryService.getBreedsByTemperamentWithImages(tags, query.getMatch())
                     .thenApply(breeds -> (Object) breeds)
                     .whenComplete((result, throwable) -> {
                         if (throwable != null) {
-                            logger.error("Erro ao processar consulta de raças com imagens por temperamento {}: ", query.getTemperament(), throwable);
+                            logger.error("Erro ao processar consulta de raças com imagens por temperamento {}: ", tags, throwable);
                         } else {
                             @SuppressWarnings("unchecked")
                             List<?> list = (List<?>) result;
@@ -97,11 +153,14 @@ public class BreedQueryHandler {
                         }
                     });
         } else {
-            return breedQueryService.getBreedsByTemperament(query.getTemperament())
+            CompletableFuture<? extends List<?>> lookup = query.isSummary()
+                    ? breedQueryService.getBreedSummariesByTemperament(tags, query.getMatch())
+                    : breedQueryService.getBreedsByTemperament(tags, query.getMatch());
+            return lookup
                     .thenApply(breeds -> (Object) breeds)
                     .whenComplete((result, throwable) -> {
                         if (throwable != null) {
-                            logger.error("Erro ao processar consulta de raças por temperamento {}: ", query.getTemperament(), throwable);
+                            logger.error("Erro ao processar consulta de raças por temperamento {}: ", tags, throwable);
                         } else {
                             @SuppressWarnings("unchecked")
                             List<?> list = (List<?>) result;
@@ -128,7 +187,10 @@ public class BreedQueryHandler {
                         }
                     });
         } else {
-            return breedQueryService.getBreedsByOrigin(query.getOrigin())
+            CompletableFuture<? extends List<?>> lookup = query.isSummary()
+                    ? breedQueryService.getBreedSummariesByOrigin(query.getOrigin())
+                    : breedQueryService.getBreedsByOrigin(query.getOrigin());
+            return lookup
                     .thenApply(breeds -> (Object) breeds)
                     .whenComplete((result, throwable) -> {
                         if (throwable != null) {
@@ -141,4 +203,23 @@ public class BreedQueryHandler {
                     });
         }
     }
-}
\ No newline at end of file
+
+    public CompletableFuture<Object> handle(SearchBreedsQuery query) {
+        logger.debug("Processando busca de raças por texto: '{}'. Limite: {}", query.getText(), query.getLimit());
+
+        CompletableFuture<? extends List<?>> search = query.isSummary()
+                ? breedQueryService.searchBreedSummaries(query.getText().trim(), query.getLimit())
+                : breedQueryService.searchBreeds(query.getText().trim(), query.getLimit());
+        return search
+                .thenApply(hits -> (Object) hits)
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        logger.error("Erro ao processar busca de raças por texto '{}': ", query.getText(), throwable);
+                    } else {
+                        @SuppressWarnings("unchecked")
+                        List<?> list = (List<?>) result;
+                        logger.debug("Busca de raças por texto processada. Total: {}", list.size());
+                    }
+                });
+    }
+}
@@ -0,0 +1,193 @@
+package com.sencon.catapi.application.query.readmodel;
+
+import com.sencon.catapi.application.command.job.CollectionJobCompletedEvent;
+import com.sencon.catapi.domain.event.BreedsChangedEvent;
+import com.sencon.catapi.domain.event.ImagesChangedEvent;
+import com.sencon.catapi.domain.model.CatBreed;
+import com.sencon.catapi.domain.model.CatImage;
+import com.sencon.catapi.domain.model.DatasetVersion;
+import com.sencon.catapi.infrastructure.persistence.entity.CatImageEntity;
+import com.sencon.catapi.infrastructure.persistence.entity.CollectionJobEntity;
+import com.sencon.catapi.infrastructure.persistence.mapper.CatBreedEntityMapper;
+import com.sencon.catapi.infrastructure.persistence.mapper.CatImageEntityMapper;
+import com.sencon.catapi.infrastructure.persistence.repository.CatBreedRepository;
+import com.sencon.catapi.infrastructure.persistence.repository.CatImageRepository;
+import com.sencon.catapi.infrastructure.persistence.repository.CollectionJobRepository;
+import com.sencon.catapi.infrastructure.persistence.repository.DatasetVersionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém o {@link CatalogSnapshot} usado pelas consultas. O snapshot é reconstruído na subida,
+ * ao fim de cada job de coleta local e quando outro nó conclui um job (verificado periodicamente).
+ * Depois de cada troca, os caches de consulta perdem só as entradas afetadas pelas mudanças desta coleta
+ * ({@link QueryCacheInvalidator}); mudanças de outro nó, sem eventos locais, limpam só a cópia local dos caches.
+ */
+@Component
+public class CatalogReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogReadModel.class);
+
+    private final CatBreedRepository breedRepository;
+    private final CatImageRepository imageRepository;
+    private final CollectionJobRepository jobRepository;
+    private final DatasetVersionRepository datasetVersionRepository;
+    private final CatBreedEntityMapper breedEntityMapper;
+    private final CatImageEntityMapper imageEntityMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final QueryCacheInvalidator cacheInvalidator;
+    private final Timer buildTimer;
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private volatile LocalDateTime lastJobSeen;
+
+    public CatalogReadModel(CatBreedRepository breedRepository,
+                            CatImageRepository imageRepository,
+                            CollectionJobRepository jobRepository,
+                            DatasetVersionRepository datasetVersionRepository,
+                            CatBreedEntityMapper breedEntityMapper,
+                            CatImageEntityMapper imageEntityMapper,
+                            PlatformTransactionManager transactionManager,
+                            QueryCacheInvalidator cacheInvalidator,
+                            MeterRegistry meterRegistry) {
+        this.breedRepository = breedRepository;
+        this.imageRepository = imageRepository;
+        this.jobRepository = jobRepository;
+        this.datasetVersionRepository = datasetVersionRepository;
+        this.breedEntityMapper = breedEntityMapper;
+        this.imageEntityMapper = imageEntityMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Versão e dados vêm da mesma visão do banco, então o ETag corresponde exatamente ao snapshot
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.cacheInvalidator = cacheInvalidator;
+
+        this.buildTimer = Timer.builder("catapi.readmodel.build")
+                .description("Tempo de construção do snapshot do catálogo")
+                .register(meterRegistry);
+        Gauge.builder("catapi.readmodel.age", this, model -> model.current().map(CatalogReadModel::ageSeconds).orElse(-1.0))
+                .description("Idade do snapshot do catálogo em memória")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("catapi.readmodel.breeds", this, model -> model.current().map(CatalogSnapshot::breedCount).orElse(0))
+                .description("Raças no snapshot do catálogo em memória")
+                .register(meterRegistry);
+        Gauge.builder("catapi.readmodel.images", this, model -> model.current().map(CatalogSnapshot::imageCount).orElse(0))
+                .description("Imagens de raça no snapshot do catálogo em memória")
+                .register(meterRegistry);
+    }
+
+    public Optional<CatalogSnapshot> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildQuietly("inicialização");
+    }
+
+    @Async
+    @EventListener
+    public void onCollectionJobCompleted(CollectionJobCompletedEvent event) {
+        rebuildQuietly("job " + event.jobId() + " (" + event.status() + ")");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBreedsChanged(BreedsChangedEvent event) {
+        cacheInvalidator.breedsChanged(event);
+        evictNowIfNoSnapshot();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImagesChanged(ImagesChangedEvent event) {
+        cacheInvalidator.imagesChanged(event);
+        evictNowIfNoSnapshot();
+    }
+
+    // Sem snapshot as consultas vão ao banco, que já tem as mudanças: não há por que esperar
+    private void evictNowIfNoSnapshot() {
+        if (current.get() == null) {
+            cacheInvalidator.evictPending(null, null);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cat.api.read-model.remote-check-interval:60000}",
+               initialDelayString = "${cat.api.read-model.remote-check-interval:60000}")
+    public void refreshIfOtherNodeCollected() {
+        try {
+            Optional<LocalDateTime> latestJob = jobRepository.findFirstByFinishedAtNotNullOrderByFinishedAtDesc()
+                    .map(CollectionJobEntity::getFinishedAt);
+            if (latestJob.isPresent() && (lastJobSeen == null || latestJob.get().isAfter(lastJobSeen))) {
+                rebuildQuietly("job concluído em " + latestJob.get());
+            }
+        } catch (Exception e) {
+            logger.warn("Erro ao verificar jobs de coleta para o snapshot do catálogo: {}", e.getMessage());
+        }
+    }
+
+    public synchronized CatalogSnapshot rebuild() {
+        CatalogSnapshot snapshot = buildTimer.record(() -> readOnlyTransaction.execute(status -> {
+            lastJobSeen = jobRepository.findFirstByFinishedAtNotNullOrderByFinishedAtDesc()
+                    .map(CollectionJobEntity::getFinishedAt)
+                    .orElse(null);
+            DatasetVersion datasetVersion = datasetVersionRepository.current();
+
+            List<CatBreed> breeds = breedEntityMapper.toDomainList(breedRepository.findAllOrderByName());
+            Map<UUID, List<CatImage>> imagesByBreed = imageRepository.findAll().stream()
+                    .filter(image -> image.getBreedId() != null)
+                    .sorted(Comparator.comparing(CatImageEntity::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .collect(Collectors.groupingBy(CatImageEntity::getBreedId,
+                            Collectors.mapping(imageEntityMapper::toDomain, Collectors.toList())));
+
+            return CatalogSnapshot.of(breeds, imagesByBreed, datasetVersion);
+        }));
+
+        CatalogSnapshot previous = current.getAndSet(snapshot);
+        cacheInvalidator.advanceVersion(snapshot.datasetVersion().version());
+        boolean evicted = cacheInvalidator.evictPending(previous, snapshot);
+        // Versão nova sem mudanças pendentes aqui: outro nó coletou e já removeu do Redis o que mudou. Enquanto este nó
+        // estava na versão anterior, suas gravações no Redis foram recusadas, então o que está lá é da versão nova
+        if (!evicted && previous != null
+                && previous.datasetVersion().version() != snapshot.datasetVersion().version()) {
+            cacheInvalidator.clearLocal();
+        }
+        return snapshot;
+    }
+
+    private void rebuildQuietly(String reason) {
+        try {
+            CatalogSnapshot snapshot = rebuild();
+            logger.info("Snapshot do catálogo reconstruído ({}). Versão: {}, Raças: {}, Imagens: {}",
+                       reason, snapshot.datasetVersion().version(), snapshot.breedCount(), snapshot.imageCount());
+        } catch (Exception e) {
+            logger.error("Erro ao reconstruir snapshot do catálogo ({}); consultas seguem pelo banco/último snapshot: ", reason, e);
+        }
+    }
+
+    private static double ageSeconds(CatalogSnapshot snapshot) {
+        return Duration.between(snapshot.builtAt(), Instant.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,168 @@
+package com.sencon.catapi.application.query.readmodel;
+
+import com.sencon.catapi.domain.enums.TemperamentMatch;
+import com.sencon.catapi.domain.model.CatBreed;
+import com.sencon.catapi.domain.model.CatImage;
+import com.sencon.catapi.domain.model.DatasetVersion;
+import com.sencon.catapi.domain.model.TemperamentTags;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cópia imutável do catálogo em memória. As raças ficam em um array ordenado por nome e as imagens
+ * em arrays alinhados pela mesma posição; os índices são montados uma única vez no build.
+ */
+public final class CatalogSnapshot {
+
+    private static final CatImage[] NO_IMAGES = new CatImage[0];
+
+    private final CatBreed[] breeds;
+    private final CatImage[][] imagesByPosition;
+    private final Map<UUID, Integer> positionById;
+    private final Map<String, BitSet> positionsByTemperament;
+    private final String[] originKeys;
+    private final List<CatBreed> allBreeds;
+    private final int imageCount;
+    private final DatasetVersion datasetVersion;
+    private final Instant builtAt;
+
+    private CatalogSnapshot(CatBreed[] breeds, CatImage[][] imagesByPosition, int imageCount,
+                            DatasetVersion datasetVersion, Instant builtAt) {
+        this.breeds = breeds;
+        this.imagesByPosition = imagesByPosition;
+        this.imageCount = imageCount;
+        this.datasetVersion = datasetVersion;
+        this.builtAt = builtAt;
+        this.allBreeds = Collections.unmodifiableList(Arrays.asList(breeds));
+        this.originKeys = new String[breeds.length];
+
+        Map<UUID, Integer> positions = new HashMap<>(breeds.length * 2);
+        Map<String, BitSet> temperaments = new HashMap<>();
+        for (int i = 0; i < breeds.length; i++) {
+            positions.put(breeds[i].getId(), i);
+            originKeys[i] = normalize(breeds[i].getOrigin());
+            for (String tag : TemperamentTags.of(breeds[i].getTemperament())) {
+                temperaments.computeIfAbsent(tag, key -> new BitSet(breeds.length)).set(i);
+            }
+        }
+        this.positionById = Map.copyOf(positions);
+        this.positionsByTemperament = Map.copyOf(temperaments);
+    }
+
+    /**
+     * @param breedsOrderedByName raças já ordenadas por nome
+     * @param breedImages imagens de raça agrupadas por breedId
+     * @param datasetVersion versão do catálogo lida na mesma transação dos dados
+     */
+    public static CatalogSnapshot of(List<CatBreed> breedsOrderedByName, Map<UUID, List<CatImage>> breedImages,
+                                     DatasetVersion datasetVersion) {
+        CatBreed[] breeds = breedsOrderedByName.toArray(new CatBreed[0]);
+        CatImage[][] images = new CatImage[breeds.length][];
+        int imageCount = 0;
+
+        for (int i = 0; i < breeds.length; i++) {
+            List<CatImage> ofBreed = breedImages.get(breeds[i].getId());
+            images[i] = ofBreed != null ? ofBreed.toArray(NO_IMAGES) : NO_IMAGES;
+            imageCount += images[i].length;
+        }
+
+        return new CatalogSnapshot(breeds, images, imageCount, datasetVersion, Instant.now());
+    }
+
+    public List<CatBreed> allBreeds() {
+        return allBreeds;
+    }
+
+    public Optional<CatBreed> findBreed(UUID breedId) {
+        Integer position = positionById.get(breedId);
+        return position != null ? Optional.of(breeds[position]) : Optional.empty();
+    }
+
+    public List<CatImage> imagesOf(UUID breedId) {
+        Integer position = positionById.get(breedId);
+        return position != null ? List.of(imagesByPosition[position]) : List.of();
+    }
+
+    /**
+     * @param tags tokens normalizados por {@link TemperamentTags}
+     * @param match ALL exige todos os tokens, ANY ao menos um
+     */
+    public List<CatBreed> findByTemperaments(List<String> tags, TemperamentMatch match) {
+        if (tags.isEmpty()) {
+            return List.of();
+        }
+
+        BitSet result = null;
+        for (String tag : tags) {
+            BitSet positions = positionsByTemperament.get(tag);
+            if (positions == null) {
+                if (match == TemperamentMatch.ALL) {
+                    return List.of();
+                }
+                continue;
+            }
+            if (result == null) {
+                result = (BitSet) positions.clone();
+            } else if (match == TemperamentMatch.ALL) {
+                result.and(positions);
+            } else {
+                result.or(positions);
+            }
+        }
+
+        if (result == null) {
+            return List.of();
+        }
+        List<CatBreed> matches = new ArrayList<>(result.cardinality());
+        result.stream().forEach(position -> matches.add(breeds[position]));
+        return Collections.unmodifiableList(matches);
+    }
+
+    public List<CatBreed> findByOriginContaining(String origin) {
+        return filter(originKeys, normalize(origin));
+    }
+
+    public int breedCount() {
+        return breeds.length;
+    }
+
+    public int imageCount() {
+        return imageCount;
+    }
+
+    public DatasetVersion datasetVersion() {
+        return datasetVersion;
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    private List<CatBreed> filter(String[] keys, String term) {
+        if (term == null) {
+            return List.of();
+        }
+
+        List<CatBreed> matches = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && keys[i].contains(term)) {
+                matches.add(breeds[i]);
+            }
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+}
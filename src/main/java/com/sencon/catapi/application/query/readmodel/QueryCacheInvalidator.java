@@ -0,0 +1,266 @@
+package com.sencon.catapi.application.query.readmodel;
+
+import com.sencon.catapi.domain.event.BreedsChangedEvent;
+import com.sencon.catapi.domain.event.BreedsChangedEvent.BreedChange;
+import com.sencon.catapi.domain.event.ImagesChangedEvent;
+import com.sencon.catapi.domain.model.CatBreed;
+import com.sencon.catapi.domain.model.TemperamentTags;
+import com.sencon.catapi.infrastructure.cache.TwoLevelCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Remove dos caches de consulta só as entradas afetadas pelas raças e imagens alteradas numa coleta.
+ * As mudanças ficam pendentes até o snapshot ser reconstruído com elas: removê-las antes faria a próxima
+ * consulta recolocar no cache o resultado do snapshot antigo. Os prefixos seguem as chaves dos
+ * {@code @Cacheable} de BreedQueryService.
+ */
+@Component
+public class QueryCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCacheInvalidator.class);
+
+    private static final String BREEDS_CACHE = "breeds";
+    private static final String QUERIES_CACHE = "queries";
+    private static final List<String> QUERY_CACHES = List.of(BREEDS_CACHE, QUERIES_CACHE);
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, BreedChange> pendingBreeds = new HashMap<>();
+    private final Set<UUID> pendingImages = new HashSet<>();
+
+    public QueryCacheInvalidator(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public synchronized void breedsChanged(BreedsChangedEvent event) {
+        event.changes().forEach(change -> pendingBreeds.put(change.breedId(), change));
+    }
+
+    public synchronized void imagesChanged(ImagesChangedEvent event) {
+        pendingImages.addAll(event.breedIds());
+    }
+
+    /**
+     * @param before snapshot anterior, de onde vêm origem e temperamento antigos das raças alteradas (nulo: desconhecidos)
+     * @param after snapshot que já contém as mudanças (nulo: consultas vão ao banco)
+     * @return false quando não havia mudanças pendentes
+     */
+    public boolean evictPending(CatalogSnapshot before, CatalogSnapshot after) {
+        Map<UUID, BreedChange> breeds;
+        Set<UUID> images;
+        synchronized (this) {
+            if (pendingBreeds.isEmpty() && pendingImages.isEmpty()) {
+                return false;
+            }
+            breeds = new HashMap<>(pendingBreeds);
+            images = new HashSet<>(pendingImages);
+            pendingBreeds.clear();
+            pendingImages.clear();
+        }
+
+        AffectedKeys affected = AffectedKeys.of(breeds.values(), images, before, after);
+        int evicted = 0;
+        for (String cacheName : QUERY_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                continue;
+            }
+
+            Collection<?> keys = keys(cache);
+            if (keys == null) {
+                cache.clear();
+                countEvictions(cacheName, "full", 1);
+                continue;
+            }
+
+            int cacheEvicted = 0;
+            for (Object key : keys) {
+                if (affected.matches(cacheName, String.valueOf(key))) {
+                    cache.evict(key);
+                    cacheEvicted++;
+                }
+            }
+            countEvictions(cacheName, "targeted", cacheEvicted);
+            evicted += cacheEvicted;
+        }
+
+        logger.info("{} entradas removidas dos caches de consulta ({} raças alteradas, {} raças com novas imagens)",
+                   evicted, breeds.size(), images.size());
+        return true;
+    }
+
+    /**
+     * Anuncia a versão do snapshot em uso aos caches compartilhados. Chamado antes das remoções, para que um nó
+     * ainda na versão anterior não consiga gravar de volta no Redis o que elas removeram.
+     */
+    public void advanceVersion(long version) {
+        for (String cacheName : QUERY_CACHES) {
+            if (cacheManager.getCache(cacheName) instanceof TwoLevelCache twoLevelCache) {
+                twoLevelCache.advanceVersion(version);
+            }
+        }
+    }
+
+    /**
+     * Limpa só a cópia local dos caches de consulta, para quando outro nó coletou: ele já removeu do Redis
+     * as entradas afetadas, e limpar o cache compartilhado daqui apagaria o que os demais nós já recarregaram.
+     */
+    public void clearLocal() {
+        for (String cacheName : QUERY_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TwoLevelCache twoLevelCache) {
+                twoLevelCache.clearLocal();
+                countEvictions(cacheName, "local", 1);
+            } else if (cache != null) {
+                cache.clear();
+                countEvictions(cacheName, "full", 1);
+            }
+        }
+    }
+
+    // Nulo quando o cache não permite listar as chaves: nesse caso ele é limpo por inteiro
+    private static Collection<?> keys(Cache cache) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            return twoLevelCache.keys();
+        }
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return List.copyOf(caffeine.asMap().keySet());
+        }
+        return null;
+    }
+
+    private void countEvictions(String cacheName, String mode, int count) {
+        Counter.builder("catapi.query_cache.invalidations")
+                .description("Entradas removidas dos caches de consulta após mudanças no catálogo")
+                .tag("cache", cacheName)
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    static final class AffectedKeys {
+
+        private final Set<String> changedBreedIds = new HashSet<>();
+        private final Set<String> imageBreedIds = new HashSet<>();
+        // Raças alteradas afetam listagens com e sem imagens; imagens novas, só as listagens com imagens
+        private final Scope breedScope = new Scope();
+        private final Scope imageScope = new Scope();
+
+        static AffectedKeys of(Collection<BreedChange> breeds, Set<UUID> images, CatalogSnapshot before, CatalogSnapshot after) {
+            AffectedKeys affected = new AffectedKeys();
+            for (BreedChange change : breeds) {
+                affected.changedBreedIds.add(change.breedId().toString());
+                affected.breedScope.add(change.origin(), change.temperament());
+                if (!change.created()) {
+                    affected.breedScope.add(find(before, change.breedId()));
+                }
+            }
+            for (UUID breedId : images) {
+                affected.imageBreedIds.add(breedId.toString());
+                affected.imageScope.add(find(after, breedId).or(() -> find(before, breedId)));
+            }
+            return affected;
+        }
+
+        boolean matches(String cacheName, String key) {
+            boolean breedsChanged = !changedBreedIds.isEmpty();
+            boolean imagesChanged = !imageBreedIds.isEmpty();
+
+            if (BREEDS_CACHE.equals(cacheName)) {
+                if (key.startsWith("all-breeds-with-images-")) {
+                    return breedsChanged || imagesChanged;
+                }
+                if (key.startsWith("all-breed")) {
+                    return breedsChanged;
+                }
+                if (key.startsWith("breed-with-images-")) {
+                    String breedId = key.substring("breed-with-images-".length());
+                    return changedBreedIds.contains(breedId) || imageBreedIds.contains(breedId);
+                }
+                return changedBreedIds.contains(key);
+            }
+
+            if (key.startsWith("search-")) {
+                return breedsChanged;
+            }
+            if (key.startsWith("temperament-with-images-")) {
+                List<String> tags = tagsOf(key);
+                return breedScope.matchesTags(tags) || imageScope.matchesTags(tags);
+            }
+            if (key.startsWith("temperament-")) {
+                return breedScope.matchesTags(tagsOf(key));
+            }
+            if (key.startsWith("origin-summary-")) {
+                return breedScope.matchesOrigin(key.substring("origin-summary-".length()));
+            }
+            if (key.startsWith("origin-with-images-")) {
+                String term = key.substring("origin-with-images-".length());
+                return breedScope.matchesOrigin(term) || imageScope.matchesOrigin(term);
+            }
+            if (key.startsWith("origin-")) {
+                return breedScope.matchesOrigin(key.substring("origin-".length()));
+            }
+            return breedsChanged || imagesChanged;
+        }
+
+        private static Optional<CatBreed> find(CatalogSnapshot snapshot, UUID breedId) {
+            return snapshot != null ? snapshot.findBreed(breedId) : Optional.empty();
+        }
+
+        // 'temperament-ANY-[active, calm]' -> [active, calm]
+        private static List<String> tagsOf(String key) {
+            int start = key.indexOf('[');
+            int end = key.lastIndexOf(']');
+            if (start < 0 || end <= start + 1) {
+                return List.of();
+            }
+            return Arrays.asList(key.substring(start + 1, end).split(", "));
+        }
+    }
+
+    static final class Scope {
+
+        private final Set<String> origins = new HashSet<>();
+        private final Set<String> tags = new HashSet<>();
+        private boolean unknown;
+
+        void add(String origin, String temperament) {
+            if (origin != null) {
+                origins.add(origin.toLowerCase(Locale.ROOT));
+            }
+            tags.addAll(TemperamentTags.of(temperament));
+        }
+
+        // Sem os valores da raça, qualquer listagem filtrada pode estar afetada
+        void add(Optional<CatBreed> breed) {
+            breed.ifPresentOrElse(found -> add(found.getOrigin(), found.getTemperament()), () -> unknown = true);
+        }
+
+        boolean matchesOrigin(String term) {
+            String normalized = term.toLowerCase(Locale.ROOT);
+            return unknown || origins.stream().anyMatch(origin -> origin.contains(normalized));
+        }
+
+        boolean matchesTags(List<String> keyTags) {
+            return unknown || keyTags.stream().anyMatch(tags::contains);
+        }
+    }
+}
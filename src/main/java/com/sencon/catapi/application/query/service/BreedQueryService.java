@@ -1,24 +1,55 @@
 package com.sencon.catapi.application.query.service;
 
+import com.sencon.catapi.application.query.dto.BreedLookup;
+import com.sencon.catapi.application.query.dto.BreedPageCursor;
+import com.sencon.catapi.application.query.dto.CursorPage;
+import com.sencon.catapi.application.query.readmodel.CatalogReadModel;
+import com.sencon.catapi.application.query.readmodel.CatalogSnapshot;
+import com.sencon.catapi.domain.enums.BreedSortField;
+import com.sencon.catapi.domain.enums.TemperamentMatch;
+import com.sencon.catapi.domain.model.BreedSummary;
 import com.sencon.catapi.domain.model.CatBreed;
 import com.sencon.catapi.domain.model.CatImage;
+import com.sencon.catapi.infrastructure.cache.TwoLevelCache;
+import com.sencon.catapi.infrastructure.persistence.StatementCountingDataSource;
 import com.sencon.catapi.infrastructure.persistence.entity.CatBreedEntity;
 import com.sencon.catapi.infrastructure.persistence.entity.CatImageEntity;
 import com.sencon.catapi.infrastructure.persistence.mapper.CatBreedEntityMapper;
 import com.sencon.catapi.infrastructure.persistence.mapper.CatImageEntityMapper;
+import com.sencon.catapi.infrastructure.persistence.repository.CatBreedPageRepository;
 import com.sencon.catapi.infrastructure.persistence.repository.CatBreedRepository;
+import com.sencon.catapi.infrastructure.persistence.repository.CatBreedSearchRepository;
+import com.sencon.catapi.infrastructure.persistence.repository.CatBreedSummaryRepository;
 import com.sencon.catapi.infrastructure.persistence.repository.CatImageRepository;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -28,87 +59,245 @@ public class BreedQueryService {
 
     private final CatBreedRepository breedRepository;
     private final CatImageRepository imageRepository;
+    private final CatBreedSearchRepository searchRepository;
+    private final CatBreedPageRepository pageRepository;
+    private final CatBreedSummaryRepository summaryRepository;
     private final CatBreedEntityMapper breedEntityMapper;
     private final CatImageEntityMapper imageEntityMapper;
+    private final CatalogReadModel readModel;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
 
     public BreedQueryService(CatBreedRepository breedRepository,
                            CatImageRepository imageRepository,
+                           CatBreedSearchRepository searchRepository,
+                           CatBreedPageRepository pageRepository,
+                           CatBreedSummaryRepository summaryRepository,
                            CatBreedEntityMapper breedEntityMapper,
-                           CatImageEntityMapper imageEntityMapper) {
+                           CatImageEntityMapper imageEntityMapper,
+                           CatalogReadModel readModel,
+                           PlatformTransactionManager transactionManager,
+                           CacheManager cacheManager,
+                           MeterRegistry meterRegistry) {
         this.breedRepository = breedRepository;
         this.imageRepository = imageRepository;
+        this.searchRepository = searchRepository;
+        this.pageRepository = pageRepository;
+        this.summaryRepository = summaryRepository;
         this.breedEntityMapper = breedEntityMapper;
         this.imageEntityMapper = imageEntityMapper;
+        this.readModel = readModel;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
     }
 
-    @Cacheable(value = "breeds", key = "'all-breeds'")
-    public List<CatBreed> getAllBreeds() {
-        logger.debug("Buscando todas as raças");
-        List<CatBreedEntity> entities = breedRepository.findAllOrderByName();
+    @Cacheable(value = "breeds", key = "'all-breeds-' + #sortField + '-' + #direction", sync = true)
+    public List<CatBreed> getAllBreeds(BreedSortField sortField, Sort.Direction direction) {
+        logger.debug("Buscando todas as raças ordenadas por {} {}", sortField, direction);
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return sorted(snapshot.get().allBreeds(), sortField, direction);
+        }
+
+        List<CatBreedEntity> entities = pageRepository.findPage(sortField, direction, null, null, Integer.MAX_VALUE).stream()
+                .map(CatBreedPageRepository.Keyed::value)
+                .toList();
         return breedEntityMapper.toDomainList(entities);
     }
 
+    @Cacheable(value = "breeds", key = "'all-breed-summaries-' + #sortField + '-' + #direction", sync = true)
+    public List<BreedSummary> getAllBreedSummaries(BreedSortField sortField, Sort.Direction direction) {
+        logger.debug("Buscando resumo de todas as raças ordenadas por {} {}", sortField, direction);
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return sorted(snapshot.get().allBreeds(), sortField, direction).stream()
+                    .map(BreedSummary::of)
+                    .toList();
+        }
+
+        Sort.Order order = switch (sortField) {
+            case NAME -> new Sort.Order(direction, "name");
+            case ORIGIN -> new Sort.Order(direction, "origin",
+                    direction.isAscending() ? Sort.NullHandling.NULLS_FIRST : Sort.NullHandling.NULLS_LAST);
+            case CREATED_AT -> new Sort.Order(direction, "createdAt");
+            case UPDATED_AT -> new Sort.Order(direction, "updatedAt");
+        };
+        return breedRepository.findAllSummaries(Sort.by(order, new Sort.Order(direction, "id")));
+    }
+
     @Async
-    @Cacheable(value = "breeds", key = "'all-breeds-with-images'")
-    public CompletableFuture<List<BreedWithImages>> getAllBreedsWithImages() {
-        logger.debug("Buscando todas as raças com imagens de forma assíncrona");
+    @Cacheable(value = "breeds", key = "'all-breeds-with-images-' + #sortField + '-' + #direction", sync = true)
+    public CompletableFuture<List<BreedWithImages>> getAllBreedsWithImages(BreedSortField sortField, Sort.Direction direction) {
+        logger.debug("Buscando todas as raças com imagens de forma assíncrona ordenadas por {} {}", sortField, direction);
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return CompletableFuture.completedFuture(
+                    withImages(snapshot.get(), sorted(snapshot.get().allBreeds(), sortField, direction)));
+        }
         
-        return CompletableFuture.supplyAsync(() -> {
-            List<CatBreedEntity> breedEntities = breedRepository.findAllOrderByName();
-            
-            return breedEntities.parallelStream()
-                    .map(this::mapToBreedWithImages)
-                    .toList();
-        });
+        return CompletableFuture.supplyAsync(() ->
+                loadWithImages("all-breeds-with-images", () -> pageRepository
+                        .findPage(sortField, direction, null, null, Integer.MAX_VALUE).stream()
+                        .map(CatBreedPageRepository.Keyed::value)
+                        .toList()));
+    }
+
+    /**
+     * Página por keyset direto no banco: uma consulta indexada de pageSize + 1 linhas.
+     *
+     * @param cursor nextCursor da página anterior ou null para a primeira página
+     * @throws IllegalArgumentException se o cursor for inválido ou de outra ordenação
+     */
+    public CursorPage<CatBreed> getBreedsPage(BreedSortField sortField, Sort.Direction direction,
+                                              String cursor, int pageSize) {
+        logger.debug("Buscando página de raças ordenadas por {} {} (tamanho {})", sortField, direction, pageSize);
+        return page(sortField, direction, cursor, pageSize, pageRepository::findPage, breedEntityMapper::toDomainList);
+    }
+
+    /**
+     * Página como {@link #getBreedsPage}, lendo do banco só as colunas do resumo.
+     */
+    public CursorPage<BreedSummary> getBreedSummariesPage(BreedSortField sortField, Sort.Direction direction,
+                                                          String cursor, int pageSize) {
+        logger.debug("Buscando página de resumos de raças ordenadas por {} {} (tamanho {})", sortField, direction, pageSize);
+        return page(sortField, direction, cursor, pageSize, pageRepository::findSummaryPage, Function.identity());
+    }
+
+    public CursorPage<BreedWithImages> getBreedsPageWithImages(BreedSortField sortField, Sort.Direction direction,
+                                                               String cursor, int pageSize) {
+        logger.debug("Buscando página de raças com imagens ordenadas por {} {} (tamanho {})", sortField, direction, pageSize);
+        return countStatements("breeds-page-with-images", () -> page(sortField, direction, cursor, pageSize,
+                pageRepository::findPage, breeds -> readOnlyTransaction.execute(status -> mapToBreedsWithImages(breeds))));
     }
 
-    @Cacheable(value = "breeds", key = "#breedId")
+    @Cacheable(value = "breeds", key = "#breedId", sync = true)
     public Optional<CatBreed> getBreedById(UUID breedId) {
         logger.debug("Buscando raça por ID: {}", breedId);
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findBreed(breedId);
+        }
+
         return breedRepository.findById(breedId)
                 .map(breedEntityMapper::toDomain);
     }
 
     @Async
-    @Cacheable(value = "breeds", key = "'breed-with-images-' + #breedId")
+    @Cacheable(value = "breeds", key = "'breed-with-images-' + #breedId", sync = true)
     public CompletableFuture<Optional<BreedWithImages>> getBreedWithImagesById(UUID breedId) {
         logger.debug("Buscando raça com imagens por ID de forma assíncrona: {}", breedId);
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return CompletableFuture.completedFuture(snapshot.get().findBreed(breedId)
+                    .map(breed -> new BreedWithImages(breed, snapshot.get().imagesOf(breed.getId()))));
+        }
         
-        return CompletableFuture.supplyAsync(() -> 
-            breedRepository.findById(breedId)
-                    .map(this::mapToBreedWithImages)
-        );
+        return CompletableFuture.supplyAsync(() ->
+                loadWithImages("breed-with-images", () -> breedRepository.findById(breedId).stream().toList())
+                        .stream()
+                        .findFirst());
+    }
+
+    /**
+     * Resolve um lote de IDs na ordem do pedido. Sem snapshot, aproveita as entradas de {@link #getBreedById}
+     * já em cache e busca as demais numa única consulta IN, populando o cache com o que encontrar.
+     */
+    public List<BreedLookup<CatBreed>> getBreedsByIds(List<UUID> breedIds) {
+        logger.debug("Buscando lote de {} raças por ID", breedIds.size());
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return fromSnapshot(breedIds, id -> snapshot.get().findBreed(id).orElse(null));
+        }
+
+        Cache cache = cacheManager.getCache("breeds");
+        return lookupBatch(breedIds, id -> id, CatBreed.class, missing -> {
+            List<CatBreed> breeds = breedEntityMapper.toDomainList(breedRepository.findAllById(missing));
+            if (cache != null) {
+                breeds.forEach(breed -> cache.put(breed.getId(), breed));
+            }
+            return breeds;
+        }, CatBreed::getId);
+    }
+
+    public List<BreedLookup<BreedWithImages>> getBreedsWithImagesByIds(List<UUID> breedIds) {
+        logger.debug("Buscando lote de {} raças com imagens por ID", breedIds.size());
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return fromSnapshot(breedIds, id -> snapshot.get().findBreed(id)
+                    .map(breed -> new BreedWithImages(breed, snapshot.get().imagesOf(id)))
+                    .orElse(null));
+        }
+
+        return lookupBatch(breedIds, id -> "breed-with-images-" + id, BreedWithImages.class,
+                missing -> loadWithImages("breeds-batch-with-images", () -> breedRepository.findAllById(missing)),
+                breed -> breed.getBreed().getId());
     }
 
+    /**
+     * @param tags tokens normalizados e ordenados por {@link com.sencon.catapi.domain.model.TemperamentTags}
+     */
     @Async
-    @Cacheable(value = "queries", key = "'temperament-' + #temperament")
-    public CompletableFuture<List<CatBreed>> getBreedsByTemperament(String temperament) {
-        logger.debug("Buscando raças por temperamento de forma assíncrona: {}", temperament);
+    @Cacheable(value = "queries", key = "'temperament-' + #match + '-' + #tags", sync = true)
+    public CompletableFuture<List<CatBreed>> getBreedsByTemperament(List<String> tags, TemperamentMatch match) {
+        logger.debug("Buscando raças por temperamento de forma assíncrona: {} ({})", tags, match);
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return CompletableFuture.completedFuture(snapshot.get().findByTemperaments(tags, match));
+        }
         
         return CompletableFuture.supplyAsync(() -> {
-            List<CatBreedEntity> entities = breedRepository.findByTemperamentContainingIgnoreCase(temperament);
+            List<CatBreedEntity> entities = findByTemperaments(tags, match);
             return breedEntityMapper.toDomainList(entities);
         });
     }
 
+    /**
+     * @param tags tokens normalizados e ordenados por {@link com.sencon.catapi.domain.model.TemperamentTags}
+     */
     @Async
-    @Cacheable(value = "queries", key = "'temperament-with-images-' + #temperament")
-    public CompletableFuture<List<BreedWithImages>> getBreedsByTemperamentWithImages(String temperament) {
-        logger.debug("Buscando raças com imagens por temperamento de forma assíncrona: {}", temperament);
-        
+    @Cacheable(value = "queries", key = "'temperament-summary-' + #match + '-' + #tags", sync = true)
+    public CompletableFuture<List<BreedSummary>> getBreedSummariesByTemperament(List<String> tags, TemperamentMatch match) {
+        logger.debug("Buscando resumos de raças por temperamento de forma assíncrona: {} ({})", tags, match);
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return CompletableFuture.completedFuture(summaries(snapshot.get().findByTemperaments(tags, match)));
+        }
+
         return CompletableFuture.supplyAsync(() -> {
-            List<CatBreedEntity> breedEntities = breedRepository.findByTemperamentContainingIgnoreCase(temperament);
-            
-            return breedEntities.parallelStream()
-                    .map(this::mapToBreedWithImages)
-                    .toList();
+            if (tags.isEmpty()) {
+                return List.of();
+            }
+            return match == TemperamentMatch.ALL
+                    ? summaryRepository.findByAllTemperaments(tags)
+                    : summaryRepository.findByAnyTemperament(tags);
         });
     }
 
     @Async
-    @Cacheable(value = "queries", key = "'origin-' + #origin")
+    @Cacheable(value = "queries", key = "'temperament-with-images-' + #match + '-' + #tags", sync = true)
+    public CompletableFuture<List<BreedWithImages>> getBreedsByTemperamentWithImages(List<String> tags, TemperamentMatch match) {
+        logger.debug("Buscando raças com imagens por temperamento de forma assíncrona: {} ({})", tags, match);
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return CompletableFuture.completedFuture(
+                    withImages(snapshot.get(), snapshot.get().findByTemperaments(tags, match)));
+        }
+        
+        return CompletableFuture.supplyAsync(() ->
+                loadWithImages("temperament-with-images", () -> findByTemperaments(tags, match)));
+    }
+
+    @Async
+    @Cacheable(value = "queries", key = "'origin-' + #origin", sync = true)
     public CompletableFuture<List<CatBreed>> getBreedsByOrigin(String origin) {
         logger.debug("Buscando raças por origem de forma assíncrona: {}", origin);
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return CompletableFuture.completedFuture(snapshot.get().findByOriginContaining(origin));
+        }
         
         return CompletableFuture.supplyAsync(() -> {
             List<CatBreedEntity> entities = breedRepository.findByOriginContainingIgnoreCase(origin);
@@ -117,32 +306,220 @@ public class BreedQueryService {
     }
 
     @Async
-    @Cacheable(value = "queries", key = "'origin-with-images-' + #origin")
+    @Cacheable(value = "queries", key = "'origin-summary-' + #origin", sync = true)
+    public CompletableFuture<List<BreedSummary>> getBreedSummariesByOrigin(String origin) {
+        logger.debug("Buscando resumos de raças por origem de forma assíncrona: {}", origin);
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return CompletableFuture.completedFuture(summaries(snapshot.get().findByOriginContaining(origin)));
+        }
+
+        return CompletableFuture.supplyAsync(() -> summaryRepository.findByOriginContainingIgnoreCase(origin));
+    }
+
+    @Async
+    @Cacheable(value = "queries", key = "'origin-with-images-' + #origin", sync = true)
     public CompletableFuture<List<BreedWithImages>> getBreedsByOriginWithImages(String origin) {
         logger.debug("Buscando raças com imagens por origem de forma assíncrona: {}", origin);
+        Optional<CatalogSnapshot> snapshot = readModel.current();
+        if (snapshot.isPresent()) {
+            return CompletableFuture.completedFuture(
+                    withImages(snapshot.get(), snapshot.get().findByOriginContaining(origin)));
+        }
         
-        return CompletableFuture.supplyAsync(() -> {
-            List<CatBreedEntity> breedEntities = breedRepository.findByOriginContainingIgnoreCase(origin);
-            
-            return breedEntities.parallelStream()
-                    .map(this::mapToBreedWithImages)
-                    .toList();
+        return CompletableFuture.supplyAsync(() ->
+                loadWithImages("origin-with-images",
+                        () -> breedRepository.findByOriginContainingIgnoreCase(origin)));
+    }
+
+    // Sempre no banco: o ranking depende dos índices full-text/trigrama, que não existem no snapshot
+    @Async
+    @Cacheable(value = "queries", key = "'search-' + #limit + '-' + #text.toLowerCase()", sync = true)
+    public CompletableFuture<List<BreedSearchHit>> searchBreeds(String text, int limit) {
+        logger.debug("Buscando raças por texto de forma assíncrona: '{}' (limite {})", text, limit);
+
+        return CompletableFuture.supplyAsync(() -> searchRepository.search(text, limit).stream()
+                .map(hit -> new BreedSearchHit(breedEntityMapper.toDomain(hit.breed()), hit.score()))
+                .toList());
+    }
+
+    @Async
+    @Cacheable(value = "queries", key = "'search-summary-' + #limit + '-' + #text.toLowerCase()", sync = true)
+    public CompletableFuture<List<BreedSummarySearchHit>> searchBreedSummaries(String text, int limit) {
+        logger.debug("Buscando resumos de raças por texto de forma assíncrona: '{}' (limite {})", text, limit);
+
+        return CompletableFuture.supplyAsync(() -> searchRepository.searchSummaries(text, limit).stream()
+                .map(hit -> new BreedSummarySearchHit(hit.summary(), hit.score()))
+                .toList());
+    }
+
+    private <R, T> CursorPage<T> page(BreedSortField sortField, Sort.Direction direction, String cursor, int pageSize,
+                                      PageQuery<R> query, Function<List<R>, List<T>> mapper) {
+        BreedPageCursor after = cursor != null ? BreedPageCursor.decode(cursor, sortField, direction) : null;
+
+        List<CatBreedPageRepository.Keyed<R>> rows = query.find(sortField, direction,
+                after != null ? after.sortKey() : null, after != null ? after.lastId() : null, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<CatBreedPageRepository.Keyed<R>> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            CatBreedPageRepository.Keyed<R> last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new BreedPageCursor(sortField, direction, last.sortKey(), last.id()).encode();
+        }
+
+        List<T> items = mapper.apply(pageRows.stream().map(CatBreedPageRepository.Keyed::value).toList());
+        return new CursorPage<>(items, pageSize, hasNext, nextCursor);
+    }
+
+    private <T> List<BreedLookup<T>> fromSnapshot(List<UUID> breedIds, Function<UUID, T> finder) {
+        List<BreedLookup<T>> results = breedIds.stream()
+                .map(id -> BreedLookup.of(id, finder.apply(id)))
+                .toList();
+        countBatchIds("snapshot", results.size());
+        return results;
+    }
+
+    private <T> List<BreedLookup<T>> lookupBatch(List<UUID> breedIds, Function<UUID, Object> cacheKey, Class<T> type,
+                                                 Function<List<UUID>, List<T>> loader, Function<T, UUID> idOf) {
+        List<UUID> distinctIds = breedIds.stream().distinct().toList();
+        Cache cache = cacheManager.getCache("breeds");
+        Map<UUID, Optional<T>> resolved = cache != null
+                ? cachedBatch(cache, distinctIds, cacheKey, type)
+                : new HashMap<>();
+        countBatchIds("cache", resolved.size());
+
+        List<UUID> missing = distinctIds.stream().filter(id -> !resolved.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            loader.apply(missing).forEach(item -> resolved.put(idOf.apply(item), Optional.of(item)));
+            countBatchIds("database", missing.size());
+        }
+
+        return breedIds.stream()
+                .map(id -> BreedLookup.of(id, resolved.getOrDefault(id, Optional.empty()).orElse(null)))
+                .toList();
+    }
+
+    /**
+     * Entradas presentes no cache para os IDs, numa única leitura quando o cache nativo é Caffeine.
+     * Um Optional vazio marca uma raça já conhecida como inexistente (NullValue do Spring).
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Map<UUID, Optional<T>> cachedBatch(Cache cache, List<UUID> breedIds,
+                                                          Function<UUID, Object> cacheKey, Class<T> type) {
+        Map<Object, UUID> idsByKey = breedIds.stream().collect(Collectors.toMap(cacheKey, Function.identity()));
+        Map<Object, Object> values = new HashMap<>();
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            values.putAll(twoLevelCache.getAllPresent(idsByKey.keySet()));
+        } else if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            values.putAll(((com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine).getAllPresent(idsByKey.keySet()));
+        } else {
+            idsByKey.keySet().forEach(key -> {
+                Cache.ValueWrapper wrapper = cache.get(key);
+                if (wrapper != null) {
+                    values.put(key, Objects.requireNonNullElse(wrapper.get(), NullValue.INSTANCE));
+                }
+            });
+        }
+
+        Map<UUID, Optional<T>> resolved = new HashMap<>();
+        values.forEach((key, value) -> {
+            Object unwrapped = value instanceof Optional<?> optional ? optional.map(Object.class::cast).orElse(NullValue.INSTANCE) : value;
+            if (unwrapped instanceof NullValue) {
+                resolved.put(idsByKey.get(key), Optional.empty());
+            } else if (type.isInstance(unwrapped)) {
+                resolved.put(idsByKey.get(key), Optional.of(type.cast(unwrapped)));
+            }
         });
+        return resolved;
     }
 
-    private BreedWithImages mapToBreedWithImages(CatBreedEntity breedEntity) {
-        CatBreed breed = breedEntityMapper.toDomain(breedEntity);
-        List<CatImageEntity> imageEntities = imageRepository.findByBreedId(breedEntity.getId());
-        List<CatImage> images = imageEntityMapper.toDomainList(imageEntities);
-        
-        return new BreedWithImages(breed, images);
+    private void countBatchIds(String source, int count) {
+        Counter.builder("catapi.query.batch.ids")
+                .description("IDs resolvidos em consultas de raças em lote, por origem")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    // Mesma semântica de CatBreedPageRepository: origem nula ordena como vazia e o id desempata
+    private static List<CatBreed> sorted(List<CatBreed> breeds, BreedSortField sortField, Sort.Direction direction) {
+        if (sortField == BreedSortField.NAME && direction.isAscending()) {
+            return breeds;
+        }
+
+        Comparator<CatBreed> comparator = switch (sortField) {
+            case NAME -> Comparator.comparing(CatBreed::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+            case ORIGIN -> Comparator.comparing(breed -> Objects.requireNonNullElse(breed.getOrigin(), ""));
+            case CREATED_AT -> Comparator.comparing(CatBreed::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+            case UPDATED_AT -> Comparator.comparing(CatBreed::getUpdatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+        };
+        comparator = comparator.thenComparing(CatBreed::getId);
+        return breeds.stream()
+                .sorted(direction.isAscending() ? comparator : comparator.reversed())
+                .toList();
+    }
+
+    private List<CatBreedEntity> findByTemperaments(List<String> tags, TemperamentMatch match) {
+        if (tags.isEmpty()) {
+            return List.of();
+        }
+        return match == TemperamentMatch.ALL
+                ? breedRepository.findByAllTemperaments(tags, tags.size())
+                : breedRepository.findByAnyTemperament(tags);
+    }
+
+    private static List<BreedSummary> summaries(List<CatBreed> breeds) {
+        return breeds.stream().map(BreedSummary::of).toList();
+    }
+
+    private List<BreedWithImages> withImages(CatalogSnapshot snapshot, List<CatBreed> breeds) {
+        return breeds.stream()
+                .map(breed -> new BreedWithImages(breed, snapshot.imagesOf(breed.getId())))
+                .toList();
+    }
+
+    // Duas consultas por chamada, independente do número de raças: raças filtradas + imagens via IN
+    private List<BreedWithImages> loadWithImages(String queryName, Supplier<List<CatBreedEntity>> breedLoader) {
+        return countStatements(queryName, () -> readOnlyTransaction.execute(status -> mapToBreedsWithImages(breedLoader.get())));
+    }
+
+    // Contagem no nível da conexão JDBC: inclui as consultas feitas pelo JdbcTemplate, não só as do Hibernate
+    private <T> T countStatements(String queryName, Supplier<T> query) {
+        StatementCountingDataSource.Counted<T> counted = StatementCountingDataSource.count(query);
+
+        DistributionSummary.builder("catapi.query.statements")
+                .description("Statements SQL emitidos por consulta de raças com imagens")
+                .tag("query", queryName)
+                .register(meterRegistry)
+                .record(counted.statements());
+        logger.debug("Consulta {} executada com {} statements", queryName, counted.statements());
+
+        return counted.result();
+    }
+
+    private List<BreedWithImages> mapToBreedsWithImages(List<CatBreedEntity> breedEntities) {
+        if (breedEntities.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> breedIds = breedEntities.stream().map(CatBreedEntity::getId).toList();
+        Map<UUID, List<CatImage>> imagesByBreed = imageRepository.findByBreedIdIn(breedIds).stream()
+                .collect(Collectors.groupingBy(CatImageEntity::getBreedId,
+                        Collectors.mapping(imageEntityMapper::toDomain, Collectors.toList())));
+
+        return breedEntities.stream()
+                .map(breedEntity -> new BreedWithImages(breedEntityMapper.toDomain(breedEntity),
+                        imagesByBreed.getOrDefault(breedEntity.getId(), List.of())))
+                .toList();
     }
 
     public static class BreedWithImages {
         private final CatBreed breed;
         private final List<CatImage> images;
 
-        public BreedWithImages(CatBreed breed, List<CatImage> images) {
+        @JsonCreator
+        public BreedWithImages(@JsonProperty("breed") CatBreed breed, @JsonProperty("images") List<CatImage> images) {
             this.breed = breed;
             this.images = images;
         }
@@ -155,4 +532,31 @@ public class BreedQueryService {
             return images;
         }
     }
+
+    public static class BreedSearchHit {
+        private final CatBreed breed;
+        private final double score;
+
+        @JsonCreator
+        public BreedSearchHit(@JsonProperty("breed") CatBreed breed, @JsonProperty("score") double score) {
+            this.breed = breed;
+            this.score = score;
+        }
+
+        public CatBreed getBreed() {
+            return breed;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    public record BreedSummarySearchHit(BreedSummary breed, double score) {}
+
+    @FunctionalInterface
+    private interface PageQuery<R> {
+        List<CatBreedPageRepository.Keyed<R>> find(BreedSortField sortField, Sort.Direction direction,
+                                                   String afterKey, UUID afterId, int limit);
+    }
 }
@@ -0,0 +1,113 @@
+package com.sencon.catapi.application.query.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sencon.catapi.infrastructure.persistence.entity.CatBreedEntity;
+import com.sencon.catapi.infrastructure.persistence.entity.CatImageEntity;
+import com.sencon.catapi.infrastructure.persistence.mapper.CatBreedEntityMapper;
+import com.sencon.catapi.infrastructure.persistence.mapper.CatImageEntityMapper;
+import com.sencon.catapi.infrastructure.persistence.repository.CatalogExportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Exportação do catálogo em NDJSON: uma linha {"breed": ..., "images": [...]} por raça, escrita à medida
+ * que as linhas chegam do cursor. Nada é acumulado além do buffer do gerador, então a memória
+ * não depende do tamanho do catálogo.
+ */
+@Service
+public class CatalogExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogExportService.class);
+
+    private static final int FLUSH_EVERY_LINES = 100;
+
+    private final CatalogExportRepository exportRepository;
+    private final CatBreedEntityMapper breedEntityMapper;
+    private final CatImageEntityMapper imageEntityMapper;
+    private final ObjectMapper objectMapper;
+
+    public CatalogExportService(CatalogExportRepository exportRepository,
+                                CatBreedEntityMapper breedEntityMapper,
+                                CatImageEntityMapper imageEntityMapper,
+                                ObjectMapper objectMapper) {
+        this.exportRepository = exportRepository;
+        this.breedEntityMapper = breedEntityMapper;
+        this.imageEntityMapper = imageEntityMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return número de raças (linhas) escritas
+     */
+    public long exportBreedsWithImages(OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            NdjsonWriter writer = new NdjsonWriter(generator);
+
+            try {
+                exportRepository.forEachBreedWithImages(writer);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            logger.info("Exportação NDJSON concluída. Raças: {}, Imagens: {}, Tempo: {} ms",
+                       writer.lines, writer.images, System.currentTimeMillis() - start);
+            return writer.lines;
+        }
+    }
+
+    private final class NdjsonWriter implements CatalogExportRepository.CatalogVisitor {
+
+        private final JsonGenerator generator;
+        private long lines;
+        private long images;
+
+        private NdjsonWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void startBreed(CatBreedEntity breed) {
+            try {
+                generator.writeStartObject();
+                generator.writeFieldName("breed");
+                generator.writeObject(breedEntityMapper.toDomain(breed));
+                generator.writeArrayFieldStart("images");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void image(CatImageEntity image) {
+            try {
+                generator.writeObject(imageEntityMapper.toDomain(image));
+                images++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void endBreed() {
+            try {
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                if (++lines % FLUSH_EVERY_LINES == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -1,52 +1,107 @@
 package com.sencon.catapi.config;
 
+import com.sencon.catapi.infrastructure.cache.CacheValueCodec;
+import com.sencon.catapi.infrastructure.cache.RedisCacheInvalidationBus;
+import com.sencon.catapi.infrastructure.cache.RefreshAheadCaffeineCache;
+import com.sencon.catapi.infrastructure.cache.RefreshAheadPolicy;
+import com.sencon.catapi.infrastructure.cache.TwoLevelCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.RedisTemplate;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
+/**
+ * Caches de consulta com limite, expiração e janela de recarga próprios. O gerenciador só conhece os caches registrados aqui:
+ * um nome desconhecido em {@code @Cacheable} falha em vez de criar um cache com configuração padrão.
+ * As estatísticas (recordStats) são publicadas pelo Actuator como cache.gets, cache.puts, cache.evictions,
+ * cache.size e cache.load.duration, com as tags cache e cacheManager.
+ * <p>
+ * Entradas lidas a menos de {@code refresh-window} de expirar são recarregadas em segundo plano enquanto o valor
+ * atual segue sendo servido ({@link RefreshAheadPolicy}); vale para os métodos {@code @Cacheable(sync = true)}, nos quais
+ * faltas concorrentes na mesma chave também compartilham uma única carga.
+ * <p>
+ * Com {@code cat.api.cache.redis.enabled=true} cada cache ganha o Redis como segundo nível, compartilhado entre os nós.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    private final Map<String, CacheSpec> specs = new LinkedHashMap<>();
+
+    public CacheConfig(@Value("${cat.api.cache.breeds.maximum-weight:20000}") long breedsMaximumWeight,
+                       @Value("${cat.api.cache.breeds.expire-after-write:24h}") Duration breedsExpireAfterWrite,
+                       @Value("${cat.api.cache.breeds.refresh-window:2h}") Duration breedsRefreshWindow,
+                       @Value("${cat.api.cache.queries.maximum-weight:5000}") long queriesMaximumWeight,
+                       @Value("${cat.api.cache.queries.expire-after-write:24h}") Duration queriesExpireAfterWrite,
+                       @Value("${cat.api.cache.queries.refresh-window:2h}") Duration queriesRefreshWindow) {
+        specs.put("breeds", new CacheSpec(breedsMaximumWeight, breedsExpireAfterWrite, breedsRefreshWindow));
+        specs.put("queries", new CacheSpec(queriesMaximumWeight, queriesExpireAfterWrite, queriesRefreshWindow));
+    }
+
     @Bean
-    @Primary
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(caffeineCacheBuilder());
-        cacheManager.setAsyncCacheMode(true);
+    @ConditionalOnProperty(name = "cat.api.cache.redis.enabled", havingValue = "false", matchIfMissing = true)
+    public CacheManager cacheManager(@Qualifier("taskExecutor") Executor taskExecutor, MeterRegistry meterRegistry) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(specs.entrySet().stream()
+                .map(entry -> new RefreshAheadCaffeineCache(entry.getKey(), caffeineCacheBuilder(entry.getValue()).buildAsync(),
+                        refreshAheadPolicy(entry.getKey(), entry.getValue(), taskExecutor, meterRegistry), meterRegistry))
+                .toList());
         return cacheManager;
     }
 
-    Caffeine<Object, Object> caffeineCacheBuilder() {
+    @Bean
+    @ConditionalOnProperty(name = "cat.api.cache.redis.enabled", havingValue = "true")
+    public CacheManager twoLevelCacheManager(RedisTemplate<String, byte[]> cacheRedisTemplate,
+                                             CacheValueCodec cacheValueCodec,
+                                             RedisCacheInvalidationBus cacheInvalidationBus,
+                                             @Qualifier("taskExecutor") Executor taskExecutor,
+                                             MeterRegistry meterRegistry) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(specs.entrySet().stream()
+                .map(entry -> new TwoLevelCache(
+                        new CaffeineCache(entry.getKey(), caffeineCacheBuilder(entry.getValue()).buildAsync(), true),
+                        cacheRedisTemplate, cacheValueCodec, cacheInvalidationBus, entry.getValue().expireAfterWrite(),
+                        refreshAheadPolicy(entry.getKey(), entry.getValue(), taskExecutor, meterRegistry), meterRegistry))
+                .toList());
+        return cacheManager;
+    }
+
+    Caffeine<Object, Object> caffeineCacheBuilder(CacheSpec spec) {
         return Caffeine.newBuilder()
-                .maximumSize(1000)
-                .expireAfterWrite(Duration.ofMinutes(5))
+                .maximumWeight(spec.maximumWeight())
+                .weigher(CacheConfig::weigh)
+                .expireAfterWrite(spec.expireAfterWrite())
                 .recordStats();
     }
 
-    @Bean("breedCache")
-    public CacheManager breedCacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("breeds");
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(500)
-                .expireAfterWrite(Duration.ofMinutes(10))
-                .recordStats());
-        return cacheManager;
+    RefreshAheadPolicy refreshAheadPolicy(String name, CacheSpec spec, Executor executor, MeterRegistry meterRegistry) {
+        return new RefreshAheadPolicy(name, spec.expireAfterWrite(), spec.refreshWindow(), executor, meterRegistry);
     }
 
-    @Bean("queryCache")
-    public CacheManager queryCacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("queries");
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(200)
-                .expireAfterWrite(Duration.ofMinutes(3))
-                .recordStats());
-        return cacheManager;
+    // Peso = raças guardadas na entrada: uma listagem completa pesa tanto quanto todas as suas raças
+    static int weigh(Object key, Object value) {
+        Object content = value instanceof Optional<?> optional ? optional.orElse(null) : value;
+        if (content instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        return 1;
+    }
+
+    record CacheSpec(long maximumWeight, Duration expireAfterWrite, Duration refreshWindow) {
     }
 }
@@ -0,0 +1,29 @@
+package com.sencon.catapi.config;
+
+import com.sencon.catapi.infrastructure.persistence.StatementCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Envolve o DataSource para contar statements por consulta (métrica catapi.query.statements).
+ * O pool continua acessível por unwrap, que é o que as métricas do Hikari usam.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
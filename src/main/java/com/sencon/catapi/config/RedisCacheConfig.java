@@ -0,0 +1,71 @@
+package com.sencon.catapi.config;
+
+import com.sencon.catapi.infrastructure.cache.CacheValueCodec;
+import com.sencon.catapi.infrastructure.cache.RedisCacheInvalidationBus;
+import com.sencon.catapi.infrastructure.cache.TwoLevelCache;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Infraestrutura do segundo nível de cache no Redis (ver {@link CacheConfig}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "cat.api.cache.redis.enabled", havingValue = "true")
+public class RedisCacheConfig {
+
+    @Bean
+    public RedisTemplate<String, byte[]> cacheRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        return template;
+    }
+
+    @Bean
+    public CacheValueCodec cacheValueCodec() {
+        return new CacheValueCodec();
+    }
+
+    @Bean
+    public RedisCacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry) {
+        return new RedisCacheInvalidationBus(stringRedisTemplate, meterRegistry);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            RedisCacheInvalidationBus cacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(RedisCacheInvalidationBus.CHANNEL));
+        return container;
+    }
+
+    // Métricas do Actuator continuam vindo do Caffeine local; as do Redis ficam em catapi.cache.remote.requests
+    @Bean
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getLocalCache(), cache.getName(), tags);
+    }
+
+    // Sem conexão, comandos falham na hora em vez de esperar o timeout: o cache cai para o nível local
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer failFastWhenDisconnected() {
+        return builder -> builder.clientOptions(ClientOptions.builder()
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .timeoutOptions(TimeoutOptions.enabled())
+                .build());
+    }
+}
@@ -1,12 +1,19 @@
 package com.sencon.catapi.config;
 
+import com.sencon.catapi.infrastructure.external.client.CatApiRateLimiter;
+import com.sencon.catapi.infrastructure.external.client.DiskResponseCacheFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.nio.file.Path;
 import java.time.Duration;
 
 @Configuration
@@ -18,16 +25,82 @@ public class WebClientConfig {
     @Value("${cat.api.timeout:30s}")
     private Duration timeout;
 
+    @Value("${cat.api.pool.max-connections:16}")
+    private int maxConnections;
+
+    @Value("${cat.api.pool.pending-acquire-max-count:64}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${cat.api.pool.pending-acquire-timeout:10s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${cat.api.pool.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${cat.api.pool.max-life-time:5m}")
+    private Duration maxLifeTime;
+
+    @Value("${cat.api.pool.evict-interval:30s}")
+    private Duration evictInterval;
+
+    @Value("${cat.api.pool.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${cat.api.http-cache.mode:OFF}")
+    private DiskResponseCacheFilter.Mode httpCacheMode;
+
+    @Value("${cat.api.http-cache.directory:${java.io.tmpdir}/cat-api-http-cache}")
+    private Path httpCacheDirectory;
+
+    @Value("${cat.api.http-cache.default-ttl:1h}")
+    private Duration httpCacheDefaultTtl;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider catApiConnectionProvider() {
+        // metrics(true) publica reactor.netty.connection.provider.* (conexões ativas, ociosas e pendentes)
+        return ConnectionProvider.builder("catapi")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInterval)
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient catApiWebClient() {
-        HttpClient httpClient = HttpClient.create()
+    public WebClient catApiWebClient(ConnectionProvider catApiConnectionProvider,
+                                     CatApiRateLimiter rateLimiter,
+                                     MeterRegistry meterRegistry) {
+        HttpClient httpClient = HttpClient.create(catApiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
                 .responseTimeout(timeout)
+                .metrics(true, WebClientConfig::withoutQuery)
                 .compress(true);
 
+        // arrays JSON são decodificados elemento a elemento via bodyToFlux; o limite vale por elemento
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
+                .build();
+
+        // o cache fica antes do rate limiter: respostas servidas do disco não consomem cota do upstream
+        DiskResponseCacheFilter responseCache = new DiskResponseCacheFilter(
+                httpCacheMode, httpCacheDirectory, httpCacheDefaultTtl, strategies, meterRegistry);
+
         return WebClient.builder()
                 .baseUrl(catApiBaseUrl)
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
+                .exchangeStrategies(strategies)
+                .filter(responseCache)
+                .filter(rateLimiter)
                 .build();
     }
+
+    private static String withoutQuery(String uri) {
+        int queryStart = uri.indexOf('?');
+        return queryStart >= 0 ? uri.substring(0, queryStart) : uri;
+    }
 }
@@ -0,0 +1,24 @@
+package com.sencon.catapi.config;
+
+import com.sencon.catapi.presentation.interceptor.DatasetETagInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final DatasetETagInterceptor datasetETagInterceptor;
+
+    public WebMvcConfig(DatasetETagInterceptor datasetETagInterceptor) {
+        this.datasetETagInterceptor = datasetETagInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // A exportação varia por Content-Encoding e é baixada sob demanda, não por polling
+        registry.addInterceptor(datasetETagInterceptor)
+                .addPathPatterns("/api/breeds", "/api/breeds/**")
+                .excludePathPatterns("/api/breeds/export");
+    }
+}
@@ -0,0 +1,33 @@
+package com.sencon.catapi.domain.enums;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Campos aceitos em sortBy. Cada um tem um índice composto (campo, id) em 009-add-cat-breed-keyset-indexes.xml.
+ */
+public enum BreedSortField {
+    NAME("name"),
+    ORIGIN("origin"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private final String property;
+
+    BreedSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static BreedSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equalsIgnoreCase(property) || field.name().equalsIgnoreCase(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Campo de ordenação não suportado: " + property
+                        + ". Valores aceitos: " + Arrays.stream(values()).map(BreedSortField::getProperty)
+                                .collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,22 @@
+package com.sencon.catapi.domain.enums;
+
+public enum JobStatus {
+    RUNNING("Em execução"),
+    COMPLETED("Concluído"),
+    FAILED("Falhou"),
+    CANCELLED("Cancelado");
+
+    private final String description;
+
+    JobStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
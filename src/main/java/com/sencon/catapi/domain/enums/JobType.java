@@ -0,0 +1,18 @@
+package com.sencon.catapi.domain.enums;
+
+public enum JobType {
+    COLLECT_BREEDS("Coleta de raças"),
+    COLLECT_IMAGES("Coleta de imagens"),
+    COLLECT_ALL("Coleta completa de raças e imagens"),
+    HARVEST_IMAGES("Harvest paginado de imagens");
+
+    private final String description;
+
+    JobType(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,16 @@
+package com.sencon.catapi.domain.enums;
+
+public enum TemperamentMatch {
+    ALL("Possui todos os temperamentos"),
+    ANY("Possui ao menos um dos temperamentos");
+
+    private final String description;
+
+    TemperamentMatch(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
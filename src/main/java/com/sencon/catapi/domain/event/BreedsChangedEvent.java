@@ -0,0 +1,13 @@
+package com.sencon.catapi.domain.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Raças criadas ou alteradas por uma coleta, com a origem e o temperamento já gravados.
+ * Raças reenviadas sem alteração de conteúdo não aparecem aqui.
+ */
+public record BreedsChangedEvent(List<BreedChange> changes) {
+
+    public record BreedChange(UUID breedId, String origin, String temperament, boolean created) {}
+}
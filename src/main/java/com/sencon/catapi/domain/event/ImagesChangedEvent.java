@@ -0,0 +1,9 @@
+package com.sencon.catapi.domain.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Novas imagens gravadas para as raças informadas. Imagens sem raça (chapéus, óculos) não geram evento.
+ */
+public record ImagesChangedEvent(Set<UUID> breedIds) {}
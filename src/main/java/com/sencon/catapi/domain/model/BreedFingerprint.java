@@ -0,0 +1,33 @@
+package com.sencon.catapi.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class BreedFingerprint {
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+
+    private BreedFingerprint() {
+    }
+
+    // Deve permanecer idêntico ao backfill em 004-add-cat-breed-content-hash.xml
+    public static String of(CatBreed breed) {
+        String content = nullToEmpty(breed.getName()) + FIELD_SEPARATOR
+                + nullToEmpty(breed.getOrigin()) + FIELD_SEPARATOR
+                + nullToEmpty(breed.getTemperament()) + FIELD_SEPARATOR
+                + nullToEmpty(breed.getDescription());
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
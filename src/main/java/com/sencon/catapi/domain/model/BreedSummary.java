@@ -0,0 +1,13 @@
+package com.sencon.catapi.domain.model;
+
+import java.util.UUID;
+
+/**
+ * Representação leve de uma raça para listagens: sem temperamento, descrição e datas.
+ */
+public record BreedSummary(UUID id, String externalId, String name, String origin) {
+
+    public static BreedSummary of(CatBreed breed) {
+        return new BreedSummary(breed.getId(), breed.getExternalId(), breed.getName(), breed.getOrigin());
+    }
+}
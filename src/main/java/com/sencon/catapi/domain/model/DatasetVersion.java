@@ -0,0 +1,9 @@
+package com.sencon.catapi.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Versão do catálogo persistido. Muda somente quando uma coleta grava dados.
+ */
+public record DatasetVersion(long version, Instant updatedAt) {
+}
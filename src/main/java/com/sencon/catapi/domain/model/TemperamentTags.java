@@ -0,0 +1,46 @@
+package com.sencon.catapi.domain.model;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Normalização do texto de temperamento ("Active, Playful") em tokens exatos ("active", "playful"),
+ * usados na tabela cat_breed_temperament e no índice do snapshot do catálogo.
+ */
+public final class TemperamentTags {
+
+    private static final int MAX_TAG_LENGTH = 100;
+
+    private TemperamentTags() {
+    }
+
+    // Deve permanecer idêntico ao backfill em 007-create-cat-breed-temperament-table.xml
+    public static List<String> of(String temperament) {
+        TreeSet<String> tags = new TreeSet<>();
+        addTags(tags, temperament);
+        return List.copyOf(tags);
+    }
+
+    public static List<String> of(Collection<String> temperaments) {
+        TreeSet<String> tags = new TreeSet<>();
+        if (temperaments != null) {
+            temperaments.forEach(temperament -> addTags(tags, temperament));
+        }
+        return List.copyOf(tags);
+    }
+
+    private static void addTags(TreeSet<String> tags, String temperament) {
+        if (temperament == null) {
+            return;
+        }
+
+        for (String token : temperament.split(",")) {
+            String tag = token.trim().toLowerCase(Locale.ROOT);
+            if (!tag.isEmpty()) {
+                tags.add(tag.length() > MAX_TAG_LENGTH ? tag.substring(0, MAX_TAG_LENGTH) : tag);
+            }
+        }
+    }
+}
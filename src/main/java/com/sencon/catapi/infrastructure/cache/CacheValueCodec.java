@@ -0,0 +1,115 @@
+package com.sencon.catapi.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Codificação binária (Smile) dos valores guardados no Redis. Cada valor vira {@code [versão, forma, classe, dados]},
+ * em que a forma distingue nulo, valor simples, lista e Optional; a classe é a do valor ou dos elementos da lista.
+ * Só classes da aplicação são aceitas, o que evita desserializar tipos arbitrários vindos do Redis.
+ */
+public class CacheValueCodec {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String ALLOWED_PACKAGE = "com.sencon.catapi.";
+
+    private enum Shape { NULL, VALUE, LIST, OPTIONAL }
+
+    private final ObjectMapper mapper = new ObjectMapper(new SmileFactory())
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public byte[] encode(Object value) {
+        Shape shape;
+        Object payload = value;
+        if (value == null) {
+            shape = Shape.NULL;
+        } else if (value instanceof Optional<?> optional) {
+            shape = optional.isPresent() ? Shape.OPTIONAL : Shape.NULL;
+            payload = optional.orElse(null);
+        } else if (value instanceof Collection<?> collection) {
+            shape = Shape.LIST;
+            payload = List.copyOf(collection);
+        } else {
+            shape = Shape.VALUE;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = mapper.createGenerator(out)) {
+            generator.writeStartArray();
+            generator.writeNumber(FORMAT_VERSION);
+            generator.writeString(shape.name());
+            generator.writeString(typeName(payload));
+            mapper.writeValue(generator, payload);
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Valor não serializável para o cache compartilhado", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return o valor decodificado: nulo para {@code Shape.NULL} (inclusive um {@code Optional} vazio na origem)
+     *         e {@code Optional} preenchido quando o original era Optional
+     */
+    public Object decode(byte[] bytes) {
+        try {
+            JsonNode root = mapper.readTree(bytes);
+            if (root == null || !root.isArray() || root.size() != 4 || root.get(0).asInt() != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Formato de valor em cache não reconhecido");
+            }
+
+            Shape shape = Shape.valueOf(root.get(1).asText());
+            if (shape == Shape.NULL) {
+                return null;
+            }
+
+            JsonNode data = root.get(3);
+            String typeName = root.get(2).isNull() ? null : root.get(2).asText();
+            if (shape == Shape.LIST) {
+                if (typeName == null) {
+                    return List.of();
+                }
+                List<?> items = mapper.readerForListOf(allowedClass(typeName)).readValue(data);
+                return List.copyOf(items);
+            }
+
+            Object value = mapper.treeToValue(data, allowedClass(typeName));
+            return shape == Shape.OPTIONAL ? Optional.of(value) : value;
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Valor em cache não decodificável", e);
+        }
+    }
+
+    private static String typeName(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        Object sample = payload instanceof List<?> list ? (list.isEmpty() ? null : list.get(0)) : payload;
+        if (sample == null) {
+            return null;
+        }
+        String name = sample.getClass().getName();
+        if (!name.startsWith(ALLOWED_PACKAGE)) {
+            throw new IllegalArgumentException("Tipo não suportado no cache compartilhado: " + name);
+        }
+        return name;
+    }
+
+    private static Class<?> allowedClass(String typeName) throws ClassNotFoundException {
+        if (typeName == null || !typeName.startsWith(ALLOWED_PACKAGE)) {
+            throw new ClassNotFoundException("Tipo não permitido no cache compartilhado: " + typeName);
+        }
+        return Class.forName(typeName, false, CacheValueCodec.class.getClassLoader());
+    }
+}
@@ -0,0 +1,31 @@
+package com.sencon.catapi.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Conta as leituras que encontram a chave já em carga por outro chamador. Nos métodos
+ * {@code @Cacheable(sync = true)} o Caffeine guarda a carga em andamento como um futuro na própria entrada,
+ * e as faltas concorrentes na mesma chave esperam esse futuro em vez de executar o método de novo.
+ */
+public class CoalescedLoadCounter {
+
+    private final Counter coalesced;
+
+    public CoalescedLoadCounter(String cacheName, MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("catapi.cache.coalesced")
+                .description("Leituras que aguardaram uma carga já em andamento da mesma chave em vez de ir ao banco")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    public void record(AsyncCache<Object, Object> cache, Object key) {
+        CompletableFuture<Object> pending = cache.getIfPresent(key);
+        if (pending != null && !pending.isDone()) {
+            coalesced.increment();
+        }
+    }
+}
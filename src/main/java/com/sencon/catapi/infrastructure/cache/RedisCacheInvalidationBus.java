@@ -0,0 +1,88 @@
+package com.sencon.catapi.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Propaga remoções e limpezas de cache entre os nós pelo pub/sub do Redis, para que cada nó descarte
+ * as entradas afetadas no seu cache local. Mensagens publicadas pelo próprio nó são ignoradas.
+ * Formato: {@code <nó> <EVICT|CLEAR> <cache> [chave]}.
+ */
+public class RedisCacheInvalidationBus implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCacheInvalidationBus.class);
+
+    public static final String CHANNEL = "catapi:cache:invalidation";
+
+    private static final String EVICT = "EVICT";
+    private static final String CLEAR = "CLEAR";
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public RedisCacheInvalidationBus(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    void register(TwoLevelCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(String.join(" ", nodeId, EVICT, cacheName, key));
+    }
+
+    void publishClear(String cacheName) {
+        publish(String.join(" ", nodeId, CLEAR, cacheName));
+    }
+
+    private void publish(String payload) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, payload);
+        } catch (RuntimeException e) {
+            // Os outros nós ficam com o cache local até expirar ou até reconstruírem o snapshot
+            logger.warn("Erro ao publicar invalidação de cache ({}): {}", payload, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ", 4);
+        if (parts.length < 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+
+        if (CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+        } else if (EVICT.equals(parts[1]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        } else {
+            return;
+        }
+        logger.debug("Invalidação de cache recebida do nó {}: {} {}", parts[0], parts[1], parts[2]);
+        Counter.builder("catapi.cache.invalidations.received")
+                .description("Invalidações de cache recebidas de outros nós")
+                .tag("cache", parts[2])
+                .tag("type", parts[1].toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+}
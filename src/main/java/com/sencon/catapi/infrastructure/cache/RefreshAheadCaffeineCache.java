@@ -0,0 +1,82 @@
+package com.sencon.catapi.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache Caffeine com recarga antecipada ({@link RefreshAheadPolicy}) nas leituras com loader,
+ * usado quando não há Redis. Faltas concorrentes na mesma chave compartilham uma carga ({@link CoalescedLoadCounter}).
+ * Continua sendo um {@link CaffeineCache} para as métricas e o acesso nativo.
+ */
+public class RefreshAheadCaffeineCache extends CaffeineCache {
+
+    private final RefreshAheadPolicy refreshAhead;
+    private final CoalescedLoadCounter coalescedLoads;
+
+    public RefreshAheadCaffeineCache(String name, AsyncCache<Object, Object> cache, RefreshAheadPolicy refreshAhead,
+                                     MeterRegistry meterRegistry) {
+        super(name, cache, true);
+        this.refreshAhead = refreshAhead;
+        this.coalescedLoads = new CoalescedLoadCounter(name, meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (refreshAhead.isDue(getNativeCache(), key)) {
+            ValueWrapper current = get(key);
+            if (current != null && refreshAhead.refresh(key, valueLoader, value -> put(key, value))) {
+                return (T) current.get();
+            }
+        }
+        coalescedLoads.record(getAsyncCache(), key);
+        return super.get(key, valueLoader);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        if (refreshAhead.isDue(getNativeCache(), key)) {
+            CompletableFuture<?> current = retrieve(key);
+            if (current != null && refreshAhead.refreshAsync(key, valueLoader, value -> put(key, value))) {
+                return (CompletableFuture<T>) current.thenApply(RefreshAheadCaffeineCache::unwrap);
+            }
+        }
+        coalescedLoads.record(getAsyncCache(), key);
+        return super.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void evict(Object key) {
+        refreshAhead.cancel(key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        refreshAhead.cancel(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        refreshAhead.cancelAll();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        refreshAhead.cancelAll();
+        return super.invalidate();
+    }
+
+    // retrieve(key) devolve o ValueWrapper; retrieve(key, loader) devolve o próprio valor
+    static Object unwrap(Object cached) {
+        return cached instanceof ValueWrapper wrapper ? wrapper.get() : cached;
+    }
+}
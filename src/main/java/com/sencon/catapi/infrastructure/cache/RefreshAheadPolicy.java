@@ -0,0 +1,158 @@
+package com.sencon.catapi.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Recarga antecipada (stale-while-revalidate) das entradas de um cache. Uma entrada lida dentro da janela
+ * de refresh, isto é, a menos de {@code refreshWindow} de expirar, é recarregada em segundo plano enquanto
+ * o valor atual continua sendo servido. Só entradas acessadas perto da expiração são recarregadas.
+ * <p>
+ * A recarga usa o loader que o Spring entrega ao cache nos métodos {@code @Cacheable(sync = true)}.
+ * Remoções e limpezas do cache cancelam as recargas em andamento das chaves afetadas: o valor calculado
+ * antes da invalidação é descartado em vez de gravado.
+ */
+public class RefreshAheadPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshAheadPolicy.class);
+
+    private final String cacheName;
+    private final Duration refreshAfter;
+    private final Executor executor;
+    private final ConcurrentMap<Object, Object> refreshing = new ConcurrentHashMap<>();
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter discarded;
+    private final Counter rejected;
+
+    public RefreshAheadPolicy(String cacheName, Duration timeToLive, Duration refreshWindow,
+                              Executor executor, MeterRegistry meterRegistry) {
+        if (!refreshWindow.isZero() && refreshWindow.compareTo(timeToLive) >= 0) {
+            throw new IllegalArgumentException("Janela de refresh do cache " + cacheName + " (" + refreshWindow
+                    + ") deve ser menor que o TTL (" + timeToLive + ")");
+        }
+        this.cacheName = cacheName;
+        this.refreshAfter = refreshWindow.isZero() ? null : timeToLive.minus(refreshWindow);
+        this.executor = executor;
+        this.succeeded = refreshCounter(meterRegistry, "success");
+        this.failed = refreshCounter(meterRegistry, "failure");
+        this.discarded = refreshCounter(meterRegistry, "discarded");
+        this.rejected = refreshCounter(meterRegistry, "rejected");
+    }
+
+    /**
+     * Indica se a entrada da chave está na janela de refresh e ainda não tem recarga em andamento.
+     */
+    public boolean isDue(com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache, Object key) {
+        if (refreshAfter == null || refreshing.containsKey(key)) {
+            return false;
+        }
+        Optional<Duration> age = nativeCache.policy().expireAfterWrite().flatMap(expiration -> expiration.ageOf(key));
+        return age.isPresent() && age.get().compareTo(refreshAfter) >= 0;
+    }
+
+    /**
+     * Agenda a recarga da chave. Retorna false se outra recarga da chave já está em andamento
+     * ou se o executor recusou a tarefa; nesses casos o loader não é usado.
+     */
+    public <T> boolean refresh(Object key, Callable<T> valueLoader, Consumer<Object> store) {
+        return schedule(key, token -> {
+            try {
+                complete(key, token, valueLoader.call(), store);
+            } catch (Exception e) {
+                fail(key, token, e);
+            }
+        });
+    }
+
+    public <T> boolean refreshAsync(Object key, Supplier<CompletableFuture<T>> valueLoader, Consumer<Object> store) {
+        return schedule(key, token -> {
+            try {
+                valueLoader.get().whenComplete((value, throwable) -> {
+                    if (throwable != null) {
+                        fail(key, token, throwable);
+                    } else {
+                        complete(key, token, value, store);
+                    }
+                });
+            } catch (RuntimeException e) {
+                fail(key, token, e);
+            }
+        });
+    }
+
+    /**
+     * Cancela a recarga em andamento da chave. Chamado antes de remover a entrada do cache.
+     */
+    public void cancel(Object key) {
+        refreshing.remove(key);
+    }
+
+    public void cancelAll() {
+        refreshing.clear();
+    }
+
+    private boolean schedule(Object key, Consumer<Object> task) {
+        Object token = new Object();
+        if (refreshing.putIfAbsent(key, token) != null) {
+            return false;
+        }
+        try {
+            executor.execute(() -> task.accept(token));
+            return true;
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key, token);
+            rejected.increment();
+            logger.debug("Recarga antecipada da chave {} do cache {} recusada pelo executor", key, cacheName);
+            return false;
+        }
+    }
+
+    // A gravação acontece sob o lock da chave no mapa: uma remoção concorrente ou a descarta ou vem depois dela
+    private void complete(Object key, Object token, Object value, Consumer<Object> store) {
+        boolean[] stored = new boolean[1];
+        refreshing.computeIfPresent(key, (k, current) -> {
+            if (current != token) {
+                return current;
+            }
+            store.accept(value);
+            stored[0] = true;
+            return null;
+        });
+        if (stored[0]) {
+            succeeded.increment();
+            logger.debug("Chave {} do cache {} recarregada antecipadamente", key, cacheName);
+        } else {
+            discarded.increment();
+            logger.debug("Recarga da chave {} do cache {} descartada: entrada invalidada durante a carga", key, cacheName);
+        }
+    }
+
+    private void fail(Object key, Object token, Throwable error) {
+        refreshing.remove(key, token);
+        failed.increment();
+        logger.warn("Erro na recarga antecipada da chave {} do cache {}; valor atual mantido até expirar: {}",
+                   key, cacheName, error.getMessage());
+    }
+
+    private Counter refreshCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("catapi.cache.refresh")
+                .description("Recargas antecipadas de entradas de cache perto de expirar")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
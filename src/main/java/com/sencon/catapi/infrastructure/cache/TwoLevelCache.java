@@ -0,0 +1,501 @@
+package com.sencon.catapi.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Cache em dois níveis: Caffeine local (L1) na frente do Redis compartilhado (L2). Leituras que faltam no L1
+ * consultam o L2 e repopulam o L1; escritas vão para os dois. Remoções e limpezas também são publicadas
+ * para os outros nós descartarem seus L1. Com o Redis fora do ar o cache segue só com o L1.
+ * <p>
+ * As chaves são normalizadas para texto nos dois níveis, que é como elas trafegam no Redis.
+ * A recarga antecipada ({@link RefreshAheadPolicy}) segue a idade da entrada no L1 e grava o valor novo nos dois níveis.
+ * Faltas concorrentes na mesma chave esperam a carga em andamento no L1, que consulta o Redis e o banco uma vez só.
+ * <p>
+ * Cada cache tem uma geração no Redis, incrementada a cada remoção ou limpeza. Uma carga lê a geração junto com
+ * a entrada e só grava no L2 se ela não mudou: o valor lido do banco antes de uma invalidação não volta para o Redis
+ * depois dela. Remoções apagam o L2 antes do L1, para que uma leitura concorrente não traga o valor antigo de volta.
+ * <p>
+ * O cache também guarda no Redis a maior versão dos dados já anunciada por um nó ({@link #advanceVersion}). Um nó que
+ * ainda calcula os valores a partir de uma versão menor não grava no L2: sem isso, um nó com o snapshot antigo
+ * devolveria ao Redis, depois da invalidação, os valores que o nó da coleta acabou de remover.
+ */
+public class TwoLevelCache implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private static final String KEY_PREFIX = "catapi:cache:";
+    private static final String GENERATION_PREFIX = "catapi:cache-generation:";
+    private static final String VERSION_PREFIX = "catapi:cache-version:";
+    private static final long UNKNOWN_VERSION = -1;
+    private static final int CLEAR_BATCH_SIZE = 500;
+
+    // Geração ou versão vazias não são conferidas; 0: invalidado durante a carga, -1: versão do nó desatualizada
+    private static final RedisScript<Long> WRITE_IF_CURRENT = RedisScript.of("""
+            if ARGV[1] ~= '' and (redis.call('GET', KEYS[1]) or '0') ~= ARGV[1] then
+              return 0
+            end
+            if ARGV[2] ~= '' and tonumber(redis.call('GET', KEYS[2]) or '-1') > tonumber(ARGV[2]) then
+              return -1
+            end
+            redis.call('SET', KEYS[3], ARGV[3], 'PX', ARGV[4])
+            return 1""", Long.class);
+
+    private static final RedisScript<Long> ADVANCE_VERSION = RedisScript.of("""
+            if tonumber(redis.call('GET', KEYS[1]) or '-1') < tonumber(ARGV[1]) then
+              redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+              return 1
+            end
+            return 0""", Long.class);
+
+    private static final RedisScript<Long> EVICT = RedisScript.of("""
+            redis.call('INCR', KEYS[1])
+            return redis.call('UNLINK', KEYS[2])""", Long.class);
+
+    private final CaffeineCache local;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final CacheValueCodec codec;
+    private final RedisCacheInvalidationBus invalidationBus;
+    private final Duration timeToLive;
+    private final RefreshAheadPolicy refreshAhead;
+    private final String keyPrefix;
+    private final String generationKey;
+    private final String versionKey;
+    private volatile long version = UNKNOWN_VERSION;
+    private final AtomicBoolean remoteAvailable = new AtomicBoolean(true);
+    private final CoalescedLoadCounter coalescedLoads;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteErrors;
+
+    public TwoLevelCache(CaffeineCache local, RedisTemplate<String, byte[]> redisTemplate, CacheValueCodec codec,
+                         RedisCacheInvalidationBus invalidationBus, Duration timeToLive, RefreshAheadPolicy refreshAhead,
+                         MeterRegistry meterRegistry) {
+        this.local = local;
+        this.redisTemplate = redisTemplate;
+        this.codec = codec;
+        this.invalidationBus = invalidationBus;
+        this.timeToLive = timeToLive;
+        this.refreshAhead = refreshAhead;
+        this.keyPrefix = KEY_PREFIX + local.getName() + ":";
+        this.generationKey = GENERATION_PREFIX + local.getName();
+        this.versionKey = VERSION_PREFIX + local.getName();
+        this.remoteHits = remoteCounter(meterRegistry, "hit");
+        this.remoteMisses = remoteCounter(meterRegistry, "miss");
+        this.remoteErrors = remoteCounter(meterRegistry, "error");
+        this.coalescedLoads = new CoalescedLoadCounter(getName(), meterRegistry);
+        invalidationBus.register(this);
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    // Não expõe o Caffeine: um acesso direto ao nativo pularia o L2 e a normalização das chaves
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getLocalCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String cacheKey = cacheKey(key);
+        ValueWrapper cached = local.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        ValueWrapper remote = readRemote(cacheKey).value();
+        if (remote != null) {
+            local.put(cacheKey, remote.get());
+        }
+        return remote;
+    }
+
+    /**
+     * Valores presentes para as chaves: do L1 e, para as que faltam nele, de um único MGET no Redis.
+     * Nulos guardados em cache voltam como {@link NullValue#INSTANCE}; chaves ausentes ficam fora do mapa.
+     */
+    public Map<Object, Object> getAllPresent(Collection<?> keys) {
+        Map<Object, Object> found = new HashMap<>();
+        List<Object> missing = new ArrayList<>();
+        for (Object key : keys) {
+            Object value = local.getNativeCache().getIfPresent(cacheKey(key));
+            if (value != null) {
+                found.put(key, value);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        List<byte[]> values = remote(() -> redisTemplate.opsForValue()
+                .multiGet(missing.stream().map(key -> keyPrefix + cacheKey(key)).toList()));
+        if (values == null) {
+            return found;
+        }
+        for (int i = 0; i < missing.size(); i++) {
+            String cacheKey = cacheKey(missing.get(i));
+            ValueWrapper remote = decodeRemote(cacheKey, values.get(i));
+            if (remote != null) {
+                local.put(cacheKey, remote.get());
+                found.put(missing.get(i), remote.get() != null ? remote.get() : NullValue.INSTANCE);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName() + ": " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = cacheKey(key);
+        // A recarga chama o loader direto: o L2 tem a mesma entrada prestes a expirar
+        if (refreshAhead.isDue(local.getNativeCache(), cacheKey)) {
+            ValueWrapper current = local.get(cacheKey);
+            if (current != null) {
+                String generation = readGeneration();
+                if (refreshAhead.refresh(cacheKey, valueLoader, value -> putLoaded(cacheKey, value, generation))) {
+                    return (T) current.get();
+                }
+            }
+        }
+        coalescedLoads.record(local.getAsyncCache(), cacheKey);
+        return local.get(cacheKey, () -> {
+            RemoteRead remote = readRemote(cacheKey);
+            if (remote.value() != null) {
+                return (T) remote.value().get();
+            }
+            T value = valueLoader.call();
+            writeRemote(cacheKey, value, remote.generation());
+            return value;
+        });
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        String cacheKey = cacheKey(key);
+        CompletableFuture<?> cached = local.retrieve(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        ValueWrapper remote = readRemote(cacheKey).value();
+        if (remote == null) {
+            return null;
+        }
+        // Repassa pelo L1 para devolver no mesmo formato que o CaffeineCache devolve
+        local.put(cacheKey, remote.get());
+        return local.retrieve(cacheKey);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        String cacheKey = cacheKey(key);
+        if (refreshAhead.isDue(local.getNativeCache(), cacheKey)) {
+            CompletableFuture<?> current = local.retrieve(cacheKey);
+            if (current != null) {
+                String generation = readGeneration();
+                if (refreshAhead.refreshAsync(cacheKey, valueLoader, value -> putLoaded(cacheKey, value, generation))) {
+                    return (CompletableFuture<T>) current.thenApply(RefreshAheadCaffeineCache::unwrap);
+                }
+            }
+        }
+        coalescedLoads.record(local.getAsyncCache(), cacheKey);
+        return local.retrieve(cacheKey, () -> {
+            RemoteRead remote = readRemote(cacheKey);
+            if (remote.value() != null) {
+                return CompletableFuture.completedFuture((T) remote.value().get());
+            }
+            return valueLoader.get().whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    writeRemote(cacheKey, value, remote.generation());
+                }
+            });
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = cacheKey(key);
+        local.put(cacheKey, value);
+        writeRemote(cacheKey, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        String cacheKey = cacheKey(key);
+        ValueWrapper existing = local.putIfAbsent(cacheKey, value);
+        if (existing == null) {
+            writeRemote(cacheKey, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        String cacheKey = cacheKey(key);
+        refreshAhead.cancel(cacheKey);
+        remote(() -> redisTemplate.execute(EVICT, List.of(generationKey, keyPrefix + cacheKey)));
+        boolean present = local.evictIfPresent(cacheKey);
+        invalidationBus.publishEvict(getName(), cacheKey);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+    }
+
+    @Override
+    public boolean invalidate() {
+        refreshAhead.cancelAll();
+        remote(() -> {
+            redisTemplate.opsForValue().increment(generationKey);
+            return clearRemote();
+        });
+        boolean hadEntries = local.invalidate();
+        invalidationBus.publishClear(getName());
+        return hadEntries;
+    }
+
+    /**
+     * Chaves presentes no cache local ou no Redis, para remoção seletiva. Sem Redis, só as locais.
+     */
+    public Set<String> keys() {
+        Set<String> keys = new HashSet<>();
+        local.getNativeCache().asMap().keySet().forEach(key -> keys.add(String.valueOf(key)));
+        Set<String> remote = remote(this::remoteKeys);
+        if (remote != null) {
+            keys.addAll(remote);
+        }
+        return keys;
+    }
+
+    void evictLocal(String cacheKey) {
+        refreshAhead.cancel(cacheKey);
+        local.evict(cacheKey);
+    }
+
+    /**
+     * Versão dos dados a partir da qual este nó passa a calcular os valores. É anunciada no Redis se for maior que a
+     * atual; daí em diante, gravações no L2 de nós que ainda estão numa versão menor são recusadas.
+     * Antes da primeira chamada o nó grava sem conferir a versão.
+     */
+    public void advanceVersion(long version) {
+        this.version = version;
+        remote(() -> redisTemplate.execute(ADVANCE_VERSION, List.of(versionKey),
+                bytes(String.valueOf(version)), bytes(String.valueOf(timeToLive.toMillis()))));
+    }
+
+    /**
+     * Limpa só o L1, sem tocar no Redis nem avisar os outros nós.
+     */
+    public void clearLocal() {
+        refreshAhead.cancelAll();
+        local.clear();
+    }
+
+    // Geração e entrada num só MGET: a geração lida é a de antes da carga que pode seguir a falta
+    private RemoteRead readRemote(String cacheKey) {
+        List<byte[]> values = remote(() -> redisTemplate.opsForValue().multiGet(List.of(generationKey, keyPrefix + cacheKey)));
+        if (values == null) {
+            remoteMisses.increment();
+            return new RemoteRead(null, null);
+        }
+        return new RemoteRead(generation(values.get(0)), decodeRemote(cacheKey, values.get(1)));
+    }
+
+    private ValueWrapper decodeRemote(String cacheKey, byte[] bytes) {
+        if (bytes == null) {
+            remoteMisses.increment();
+            return null;
+        }
+
+        try {
+            Object value = codec.decode(bytes);
+            remoteHits.increment();
+            return new SimpleValueWrapper(value);
+        } catch (IllegalArgumentException e) {
+            // Entrada gravada num formato antigo ou com classe que mudou: tratada como falta e sobrescrita
+            logger.debug("Entrada {} do cache {} ignorada no Redis: {}", cacheKey, getName(), e.getMessage());
+            remoteMisses.increment();
+            return null;
+        }
+    }
+
+    private String readGeneration() {
+        List<byte[]> values = remote(() -> redisTemplate.opsForValue().multiGet(List.of(generationKey)));
+        return values != null ? generation(values.get(0)) : null;
+    }
+
+    private static String generation(byte[] bytes) {
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : "0";
+    }
+
+    private void putLoaded(String cacheKey, Object value, String generation) {
+        local.put(cacheKey, value);
+        writeRemote(cacheKey, value, generation);
+    }
+
+    // Gravação explícita: não há carga em andamento para conferir a geração, só a versão do nó
+    private void writeRemote(String cacheKey, Object value) {
+        byte[] bytes = encode(cacheKey, value);
+        if (bytes != null) {
+            writeIfCurrent(cacheKey, "", bytes);
+        }
+    }
+
+    // Sem geração (Redis fora na leitura) não há como saber se houve invalidação no meio: não grava
+    private void writeRemote(String cacheKey, Object value, String generation) {
+        byte[] bytes = generation != null ? encode(cacheKey, value) : null;
+        if (bytes != null) {
+            writeIfCurrent(cacheKey, generation, bytes);
+        }
+    }
+
+    private void writeIfCurrent(String cacheKey, String generation, byte[] bytes) {
+        long nodeVersion = version;
+        Long written = remote(() -> redisTemplate.execute(WRITE_IF_CURRENT,
+                List.of(generationKey, versionKey, keyPrefix + cacheKey),
+                bytes(generation), bytes(nodeVersion != UNKNOWN_VERSION ? String.valueOf(nodeVersion) : ""), bytes,
+                bytes(String.valueOf(timeToLive.toMillis()))));
+        if (written != null && written == 0) {
+            logger.debug("Entrada {} do cache {} não gravada no Redis: cache invalidado durante a carga", cacheKey, getName());
+        } else if (written != null && written < 0) {
+            logger.debug("Entrada {} do cache {} não gravada no Redis: versão {} deste nó já foi superada",
+                        cacheKey, getName(), nodeVersion);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] encode(String cacheKey, Object value) {
+        try {
+            return codec.encode(value);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Entrada {} do cache {} mantida só no cache local: {}", cacheKey, getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private Long clearRemote() {
+        long removed = 0;
+        List<String> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+        try (Cursor<String> keys = scanRemote()) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == CLEAR_BATCH_SIZE) {
+                    removed += unlink(batch);
+                }
+            }
+        }
+        removed += unlink(batch);
+        logger.debug("{} entradas do cache {} removidas do Redis", removed, getName());
+        return removed;
+    }
+
+    private Set<String> remoteKeys() {
+        Set<String> keys = new HashSet<>();
+        try (Cursor<String> cursor = scanRemote()) {
+            cursor.forEachRemaining(key -> keys.add(key.substring(keyPrefix.length())));
+        }
+        return keys;
+    }
+
+    private Cursor<String> scanRemote() {
+        return redisTemplate.scan(ScanOptions.scanOptions().match(keyPrefix + "*").count(CLEAR_BATCH_SIZE).build());
+    }
+
+    private long unlink(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long removed = redisTemplate.unlink(keys);
+        keys.clear();
+        return removed != null ? removed : 0;
+    }
+
+    // Falhas do Redis viram falta de cache; o aviso sai só na transição para indisponível
+    private <T> T remote(Supplier<T> operation) {
+        try {
+            T result = operation.get();
+            if (remoteAvailable.compareAndSet(false, true)) {
+                logger.info("Redis disponível novamente para o cache {}", getName());
+            }
+            return result;
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            if (remoteAvailable.compareAndSet(true, false)) {
+                logger.warn("Redis indisponível para o cache {}; seguindo só com o cache local: {}", getName(), e.getMessage());
+            } else {
+                logger.debug("Erro no Redis para o cache {}: {}", getName(), e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    private static String cacheKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private record RemoteRead(String generation, ValueWrapper value) {
+    }
+
+    private Counter remoteCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("catapi.cache.remote.requests")
+                .description("Leituras do cache compartilhado (Redis) após falta no cache local")
+                .tag("cache", getName())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
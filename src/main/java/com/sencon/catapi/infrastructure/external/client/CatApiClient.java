@@ -2,105 +2,170 @@ package com.sencon.catapi.infrastructure.external.client;
 
 import com.sencon.catapi.infrastructure.external.dto.CatApiBreedDto;
 import com.sencon.catapi.infrastructure.external.dto.CatApiImageDto;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
 
 import java.time.Duration;
-import java.util.List;
+import java.util.function.Supplier;
 
 @Component
 public class CatApiClient {
 
     private static final Logger logger = LoggerFactory.getLogger(CatApiClient.class);
 
+    private static final int HAT_CATEGORY_ID = 1;
+    private static final int SUNGLASSES_CATEGORY_ID = 4;
+    private static final int LATENCY_WINDOW = 200;
+    private static final int LATENCY_MIN_SAMPLES = 20;
+
     private final WebClient webClient;
-    private final int maxRetries;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBackoffSpec retrySpec;
+    private final CatApiLatencyTracker latencyTracker = new CatApiLatencyTracker(LATENCY_WINDOW, LATENCY_MIN_SAMPLES);
+    private final Counter hedgedRequests;
+    private final boolean hedgingEnabled;
+    private final Duration hedgingMinDelay;
+    private final Duration hedgingMaxDelay;
 
-    public CatApiClient(WebClient catApiWebClient, @Value("${cat.api.max-retries:3}") int maxRetries) {
+    public CatApiClient(WebClient catApiWebClient,
+                        CircuitBreakerRegistry circuitBreakerRegistry,
+                        MeterRegistry meterRegistry,
+                        @Value("${cat.api.max-retries:3}") int maxRetries,
+                        @Value("${cat.api.hedging.enabled:false}") boolean hedgingEnabled,
+                        @Value("${cat.api.hedging.min-delay:200ms}") Duration hedgingMinDelay,
+                        @Value("${cat.api.hedging.max-delay:5s}") Duration hedgingMaxDelay) {
         this.webClient = catApiWebClient;
-        this.maxRetries = maxRetries;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("catapi");
+        this.retrySpec = Retry.backoff(maxRetries, Duration.ofSeconds(1))
+                .filter(UpstreamFailurePredicate::isTransient);
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgingMinDelay = hedgingMinDelay;
+        this.hedgingMaxDelay = hedgingMaxDelay;
+        this.hedgedRequests = Counter.builder("catapi.upstream.hedged")
+                .description("Requisições de hedge disparadas para a TheCatAPI")
+                .register(meterRegistry);
     }
 
     public Flux<CatApiBreedDto> getAllBreeds() {
         logger.debug("Buscando todas as raças de gatos");
-        
-        return webClient.get()
+
+        return get(() -> webClient.get()
                 .uri("/breeds")
                 .retrieve()
-                .bodyToFlux(CatApiBreedDto.class)
-                .retryWhen(Retry.backoff(maxRetries, Duration.ofSeconds(1)))
+                .bodyToFlux(CatApiBreedDto.class))
                 .doOnNext(breed -> logger.debug("Raça recebida: {}", breed.getName()))
                 .doOnError(error -> logger.error("Erro ao buscar raças: ", error));
     }
 
     public Flux<CatApiImageDto> getImagesByBreed(String breedId, int limit) {
         logger.debug("Buscando {} imagens para a raça: {}", limit, breedId);
-        
-        return webClient.get()
+
+        return get(() -> webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/images/search")
                         .queryParam("breed_ids", breedId)
                         .queryParam("limit", limit)
                         .build())
                 .retrieve()
-                .bodyToFlux(CatApiImageDto.class)
-                .retryWhen(Retry.backoff(maxRetries, Duration.ofSeconds(1)))
+                .bodyToFlux(CatApiImageDto.class))
                 .doOnNext(image -> logger.debug("Imagem da raça recebida: {}", image.getUrl()))
                 .doOnError(error -> logger.error("Erro ao buscar imagens da raça {}: ", breedId, error));
     }
 
     public Flux<CatApiImageDto> getImagesByCategory(int categoryId, int limit) {
         logger.debug("Buscando {} imagens para a categoria: {}", limit, categoryId);
-        
-        return webClient.get()
+
+        return get(() -> webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/images/search")
                         .queryParam("category_ids", categoryId)
                         .queryParam("limit", limit)
                         .build())
                 .retrieve()
-                .bodyToFlux(CatApiImageDto.class)
-                .retryWhen(Retry.backoff(maxRetries, Duration.ofSeconds(1)))
+                .bodyToFlux(CatApiImageDto.class))
                 .doOnNext(image -> logger.debug("Imagem da categoria recebida: {}", image.getUrl()))
                 .doOnError(error -> logger.error("Erro ao buscar imagens da categoria {}: ", categoryId, error));
     }
 
-    public Mono<List<CatApiImageDto>> getImagesWithHats(int limit) {
-        logger.debug("Buscando {} imagens de gatos com chapéu", limit);
-        
-        return webClient.get()
+    public Flux<CatApiImageDto> getImagesPageByBreed(String breedId, int page, int limit) {
+        return getImagesPage("breed_ids", breedId, page, limit);
+    }
+
+    public Flux<CatApiImageDto> getImagesPageByCategory(int categoryId, int page, int limit) {
+        return getImagesPage("category_ids", String.valueOf(categoryId), page, limit);
+    }
+
+    private Flux<CatApiImageDto> getImagesPage(String filterParam, String filterValue, int page, int limit) {
+        logger.debug("Buscando página {} de imagens ({}={}, limite {})", page, filterParam, filterValue, limit);
+
+        return get(() -> webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/images/search")
-                        .queryParam("category_ids", "1")
+                        .queryParam(filterParam, filterValue)
                         .queryParam("limit", limit)
+                        .queryParam("page", page)
+                        .queryParam("order", "ASC")
                         .build())
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<CatApiImageDto>>() {})
-                .retryWhen(Retry.backoff(maxRetries, Duration.ofSeconds(1)))
-                .doOnNext(images -> logger.debug("Recebidas {} imagens com chapéu", images.size()))
-                .doOnError(error -> logger.error("Erro ao buscar imagens com chapéu: ", error));
+                .bodyToFlux(CatApiImageDto.class))
+                .doOnError(error -> logger.error("Erro ao buscar página {} de imagens ({}={}): ",
+                        page, filterParam, filterValue, error));
     }
 
-    public Mono<List<CatApiImageDto>> getImagesWithSunglasses(int limit) {
+    public Flux<CatApiImageDto> getImagesWithHats(int limit) {
+        logger.debug("Buscando {} imagens de gatos com chapéu", limit);
+
+        return getImagesByCategory(HAT_CATEGORY_ID, limit);
+    }
+
+    public Flux<CatApiImageDto> getImagesWithSunglasses(int limit) {
         logger.debug("Buscando {} imagens de gatos com óculos", limit);
-        
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/images/search")
-                        .queryParam("category_ids", "4")
-                        .queryParam("limit", limit)
-                        .build())
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<CatApiImageDto>>() {})
-                .retryWhen(Retry.backoff(maxRetries, Duration.ofSeconds(1)))
-                .doOnNext(images -> logger.debug("Recebidas {} imagens com óculos", images.size()))
-                .doOnError(error -> logger.error("Erro ao buscar imagens com óculos: ", error));
+
+        return getImagesByCategory(SUNGLASSES_CATEGORY_ID, limit);
+    }
+
+    // Todas as chamadas são GETs idempotentes: podem ser repetidas e, se habilitado, duplicadas por hedge
+    private <T> Flux<T> get(Supplier<Flux<T>> request) {
+        Flux<T> attempt = Flux.defer(() -> timed(request.get()));
+
+        return (hedgingEnabled ? hedged(attempt) : attempt)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .retryWhen(retrySpec);
+    }
+
+    private <T> Flux<T> timed(Flux<T> response) {
+        long start = System.nanoTime();
+        return response.doOnComplete(() -> latencyTracker.record(System.nanoTime() - start));
+    }
+
+    private <T> Flux<T> hedged(Flux<T> attempt) {
+        return Flux.defer(() -> {
+            if (circuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+                return attempt;
+            }
+
+            Flux<T> hedge = Mono.delay(hedgeDelay())
+                    .doOnNext(tick -> hedgedRequests.increment())
+                    .thenMany(attempt);
+            return Flux.firstWithSignal(attempt, hedge);
+        });
+    }
+
+    private Duration hedgeDelay() {
+        long p95Nanos = latencyTracker.percentile(0.95).orElse(hedgingMaxDelay.toNanos());
+        long delayNanos = Math.max(hedgingMinDelay.toNanos(), Math.min(p95Nanos, hedgingMaxDelay.toNanos()));
+        return Duration.ofNanos(delayNanos);
     }
 }
@@ -0,0 +1,36 @@
+package com.sencon.catapi.infrastructure.external.client;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * Janela circular com as latências mais recentes das chamadas bem-sucedidas à TheCatAPI.
+ */
+class CatApiLatencyTracker {
+
+    private final long[] samples;
+    private final int minSamples;
+    private int count;
+
+    CatApiLatencyTracker(int windowSize, int minSamples) {
+        this.samples = new long[windowSize];
+        this.minSamples = minSamples;
+    }
+
+    synchronized void record(long latencyNanos) {
+        samples[count % samples.length] = latencyNanos;
+        count++;
+    }
+
+    synchronized OptionalLong percentile(double percentile) {
+        int size = Math.min(count, samples.length);
+        if (size < minSamples) {
+            return OptionalLong.empty();
+        }
+
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * size) - 1;
+        return OptionalLong.of(sorted[Math.max(0, Math.min(index, size - 1))]);
+    }
+}
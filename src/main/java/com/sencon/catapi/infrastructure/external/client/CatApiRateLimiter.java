@@ -0,0 +1,77 @@
+package com.sencon.catapi.infrastructure.external.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class CatApiRateLimiter implements ExchangeFilterFunction {
+
+    private static final int RATE_WINDOW = 32;
+
+    private final long intervalNanos;
+    private final AtomicLong nextFreeSlot = new AtomicLong(System.nanoTime());
+    private final long[] recentGrants = new long[RATE_WINDOW];
+    private final Counter requestCounter;
+    private int grantCount;
+
+    public CatApiRateLimiter(@Value("${cat.api.requests-per-second:5}") double requestsPerSecond,
+                             MeterRegistry meterRegistry) {
+        this.intervalNanos = requestsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond) : 0L;
+        this.requestCounter = Counter.builder("catapi.upstream.requests")
+                .description("Requisições liberadas para a TheCatAPI")
+                .register(meterRegistry);
+        Gauge.builder("catapi.upstream.rate", this, CatApiRateLimiter::achievedRate)
+                .description("Taxa de requisições por segundo efetivamente enviada à TheCatAPI")
+                .baseUnit("requests/s")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return acquire().then(Mono.defer(() -> next.exchange(request)));
+    }
+
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long now = System.nanoTime();
+            long slot = Math.max(nextFreeSlot.getAndAccumulate(now, (previous, current) ->
+                    Math.max(previous, current) + intervalNanos), now);
+            long waitNanos = slot - now;
+
+            Mono<Void> permit = waitNanos > 0
+                    ? Mono.delay(Duration.ofNanos(waitNanos)).then()
+                    : Mono.empty();
+            return permit.doOnTerminate(this::recordGrant);
+        });
+    }
+
+    private synchronized void recordGrant() {
+        recentGrants[grantCount % RATE_WINDOW] = System.nanoTime();
+        grantCount++;
+        requestCounter.increment();
+    }
+
+    synchronized double achievedRate() {
+        int samples = Math.min(grantCount, RATE_WINDOW);
+        if (samples < 2) {
+            return 0.0;
+        }
+
+        long newest = recentGrants[(grantCount - 1) % RATE_WINDOW];
+        long oldest = recentGrants[(grantCount - samples) % RATE_WINDOW];
+        long elapsed = Math.max(System.nanoTime(), newest) - oldest;
+        return elapsed > 0 ? (samples - 1) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed : 0.0;
+    }
+}
@@ -0,0 +1,311 @@
+package com.sencon.catapi.infrastructure.external.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cache em disco das respostas GET da TheCatAPI.
+ * <ul>
+ *   <li>{@code CACHE}: respeita Cache-Control/Expires (ou o TTL padrão) e revalida entradas vencidas com ETag/Last-Modified;</li>
+ *   <li>{@code RECORD}: sempre consulta o upstream e grava toda resposta 2xx;</li>
+ *   <li>{@code REPLAY}: serve apenas respostas gravadas, sem acesso à rede.</li>
+ * </ul>
+ * O corpo é gravado em disco à medida que chega e relido em streaming, preservando a decodificação por elemento.
+ */
+public class DiskResponseCacheFilter implements ExchangeFilterFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiskResponseCacheFilter.class);
+
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])(s-maxage|max-age)\\s*=\\s*\"?(\\d+)");
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final Instant NEVER_EXPIRES = Instant.parse("9999-12-31T23:59:59Z");
+
+    public enum Mode { OFF, CACHE, RECORD, REPLAY }
+
+    private final Mode mode;
+    private final Path directory;
+    private final Duration defaultTtl;
+    private final ExchangeStrategies strategies;
+    private final MeterRegistry meterRegistry;
+
+    public DiskResponseCacheFilter(Mode mode, Path directory, Duration defaultTtl,
+                                   ExchangeStrategies strategies, MeterRegistry meterRegistry) {
+        this.mode = mode;
+        this.directory = directory;
+        this.defaultTtl = defaultTtl;
+        this.strategies = strategies;
+        this.meterRegistry = meterRegistry;
+
+        if (mode != Mode.OFF) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Não foi possível criar o diretório de cache HTTP " + directory, e);
+            }
+            logger.info("Cache HTTP da TheCatAPI em modo {} no diretório {}", mode, directory.toAbsolutePath());
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (mode == Mode.OFF || request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+
+        String key = cacheKey(request);
+        return Mono.fromCallable(() -> readEntry(key))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(entry -> switch (mode) {
+                    case REPLAY -> replay(request, entry);
+                    case RECORD -> fetchAndStore(request, next, key, null);
+                    default -> cached(request, next, key, entry);
+                });
+    }
+
+    private Mono<ClientResponse> replay(ClientRequest request, Optional<CachedEntry> entry) {
+        if (entry.isEmpty()) {
+            count("replay_miss");
+            return Mono.error(new IllegalStateException("Nenhuma resposta gravada para GET " + request.url()));
+        }
+        count("replay_hit");
+        return Mono.just(toResponse(entry.get()));
+    }
+
+    private Mono<ClientResponse> cached(ClientRequest request, ExchangeFunction next, String key, Optional<CachedEntry> entry) {
+        if (entry.isPresent() && entry.get().isFresh()) {
+            count("hit");
+            return Mono.just(toResponse(entry.get()));
+        }
+
+        count(entry.isPresent() ? "stale" : "miss");
+        return fetchAndStore(request, next, key, entry.orElse(null));
+    }
+
+    private Mono<ClientResponse> fetchAndStore(ClientRequest request, ExchangeFunction next, String key, CachedEntry stale) {
+        ClientRequest outgoing = stale != null ? conditional(request, stale) : request;
+
+        return next.exchange(outgoing).flatMap(response -> {
+            if (stale != null && response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                count("revalidated");
+                CachedEntry refreshed = stale.withExpiresAt(expiresAt(response.headers().asHttpHeaders()));
+                return response.releaseBody()
+                        .then(Mono.fromCallable(() -> writeMetadata(refreshed)).subscribeOn(Schedulers.boundedElastic()))
+                        .map(this::toResponse);
+            }
+
+            if (!response.statusCode().is2xxSuccessful()) {
+                return Mono.just(response);
+            }
+
+            HttpHeaders headers = response.headers().asHttpHeaders();
+            Instant expiresAt = mode == Mode.RECORD ? NEVER_EXPIRES : expiresAt(headers);
+            if (expiresAt == null) {
+                return Mono.just(response);
+            }
+
+            CachedEntry entry = new CachedEntry(key, request.url().toString(), response.statusCode().value(),
+                    headers.getFirst(HttpHeaders.CONTENT_TYPE), headers.getETag(),
+                    headers.getFirst(HttpHeaders.LAST_MODIFIED), expiresAt);
+            return store(entry, response.bodyToFlux(DataBuffer.class));
+        });
+    }
+
+    private Mono<ClientResponse> store(CachedEntry entry, Flux<DataBuffer> body) {
+        Path temporary = directory.resolve(entry.key() + "." + UUID.randomUUID() + ".tmp");
+
+        return DataBufferUtils.write(body, temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)
+                .then(Mono.fromCallable(() -> {
+                    Files.move(temporary, bodyPath(entry.key()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    return writeMetadata(entry);
+                }).subscribeOn(Schedulers.boundedElastic()))
+                .doOnError(error -> {
+                    logger.warn("Erro ao gravar resposta em cache para {}: {}", entry.url(), error.getMessage());
+                    deleteQuietly(temporary);
+                })
+                .map(this::toResponse);
+    }
+
+    private ClientRequest conditional(ClientRequest request, CachedEntry stale) {
+        return ClientRequest.from(request)
+                .headers(headers -> {
+                    if (stale.etag() != null) {
+                        headers.setIfNoneMatch(stale.etag());
+                    }
+                    if (stale.lastModified() != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, stale.lastModified());
+                    }
+                })
+                .build();
+    }
+
+    // null indica resposta que não deve ser armazenada
+    private Instant expiresAt(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            String directives = cacheControl.toLowerCase(Locale.ROOT);
+            if (directives.contains("no-store") || directives.contains("no-cache")) {
+                return null;
+            }
+
+            Long maxAge = null;
+            Matcher matcher = MAX_AGE.matcher(directives);
+            while (matcher.find()) {
+                long seconds = Long.parseLong(matcher.group(2));
+                if ("s-maxage".equals(matcher.group(1)) || maxAge == null) {
+                    maxAge = seconds;
+                }
+            }
+            if (maxAge != null) {
+                return maxAge > 0 ? Instant.now().plusSeconds(maxAge) : null;
+            }
+        }
+
+        long expires = headers.getExpires();
+        if (expires > 0) {
+            Instant expiresAt = Instant.ofEpochMilli(expires);
+            return expiresAt.isAfter(Instant.now()) ? expiresAt : null;
+        }
+
+        return Instant.now().plus(defaultTtl);
+    }
+
+    private ClientResponse toResponse(CachedEntry entry) {
+        Flux<DataBuffer> body = DataBufferUtils.read(bodyPath(entry.key()), DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE);
+
+        return ClientResponse.create(HttpStatusCode.valueOf(entry.status()), strategies)
+                .headers(headers -> {
+                    if (entry.contentType() != null) {
+                        headers.set(HttpHeaders.CONTENT_TYPE, entry.contentType());
+                    }
+                    headers.setCacheControl(CacheControl.noCache());
+                })
+                .body(body)
+                .build();
+    }
+
+    private Optional<CachedEntry> readEntry(String key) throws IOException {
+        Path metadataPath = metadataPath(key);
+        if (!Files.exists(metadataPath) || !Files.exists(bodyPath(key))) {
+            return Optional.empty();
+        }
+
+        Properties metadata = new Properties();
+        try (InputStream in = Files.newInputStream(metadataPath)) {
+            metadata.load(in);
+        }
+
+        return Optional.of(new CachedEntry(key,
+                metadata.getProperty("url"),
+                Integer.parseInt(metadata.getProperty("status", "200")),
+                metadata.getProperty("content-type"),
+                metadata.getProperty("etag"),
+                metadata.getProperty("last-modified"),
+                Instant.parse(metadata.getProperty("expires-at", Instant.EPOCH.toString()))));
+    }
+
+    private CachedEntry writeMetadata(CachedEntry entry) throws IOException {
+        Properties metadata = new Properties();
+        metadata.setProperty("url", entry.url());
+        metadata.setProperty("status", String.valueOf(entry.status()));
+        metadata.setProperty("expires-at", entry.expiresAt().toString());
+        metadata.setProperty("stored-at", Instant.now().toString());
+        if (entry.contentType() != null) {
+            metadata.setProperty("content-type", entry.contentType());
+        }
+        if (entry.etag() != null) {
+            metadata.setProperty("etag", entry.etag());
+        }
+        if (entry.lastModified() != null) {
+            metadata.setProperty("last-modified", entry.lastModified());
+        }
+
+        Path temporary = directory.resolve(entry.key() + "." + UUID.randomUUID() + ".properties.tmp");
+        try (OutputStream out = Files.newOutputStream(temporary, StandardOpenOption.CREATE_NEW)) {
+            metadata.store(out, null);
+        }
+        Files.move(temporary, metadataPath(entry.key()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return entry;
+    }
+
+    private String cacheKey(ClientRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((request.method().name() + " " + request.url()).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private Path bodyPath(String key) {
+        return directory.resolve(key + ".body");
+    }
+
+    private Path metadataPath(String key) {
+        return directory.resolve(key + ".properties");
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("catapi.http_cache.requests", "mode", mode.name().toLowerCase(Locale.ROOT), "result", result)
+                .increment();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.debug("Erro ao remover arquivo temporário {}: {}", path, e.getMessage());
+        }
+    }
+
+    private record CachedEntry(String key, String url, int status, String contentType,
+                               String etag, String lastModified, Instant expiresAt) {
+
+        boolean isFresh() {
+            return Instant.now().isBefore(expiresAt);
+        }
+
+        CachedEntry withExpiresAt(Instant newExpiresAt) {
+            return new CachedEntry(key, url, status, contentType, etag, lastModified,
+                    newExpiresAt != null ? newExpiresAt : Instant.now());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.sencon.catapi.infrastructure.external.client;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Classifica erros da TheCatAPI como falhas transitórias do upstream: 5xx, 429 e erros de I/O.
+ * Usado pelo circuit breaker (record-failure-predicate) e pelo filtro de retry.
+ */
+public class UpstreamFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable error) {
+        return isTransient(error);
+    }
+
+    public static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException responseError) {
+            return responseError.getStatusCode().is5xxServerError()
+                    || responseError.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return error instanceof WebClientRequestException
+                || error instanceof TimeoutException
+                || error instanceof IOException;
+    }
+}
@@ -0,0 +1,82 @@
+package com.sencon.catapi.infrastructure.persistence;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Conta os statements SQL preparados na thread atual dentro de {@link #count(Supplier)}, venham do Hibernate
+ * ou do JdbcTemplate: a contagem é feita na conexão, abaixo dos dois. Envolve o DataSource da aplicação
+ * (ver DataSourceConfig).
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    public static <T> Counted<T> count(Supplier<T> work) {
+        int[] outer = COUNTER.get();
+        int[] counter = new int[1];
+        COUNTER.set(counter);
+        try {
+            T result = work.get();
+            return new Counted<>(result, counter[0]);
+        } finally {
+            if (outer != null) {
+                outer[0] += counter[0];
+                COUNTER.set(outer);
+            } else {
+                COUNTER.remove();
+            }
+        }
+    }
+
+    private static Connection counting(Connection target) {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                        }
+                    }
+                    if (STATEMENT_FACTORIES.contains(method.getName())) {
+                        int[] counter = COUNTER.get();
+                        if (counter != null) {
+                            counter[0]++;
+                        }
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    public record Counted<T>(T result, int statements) {}
+}
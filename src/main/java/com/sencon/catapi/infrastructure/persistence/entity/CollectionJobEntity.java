@@ -0,0 +1,172 @@
+package com.sencon.catapi.infrastructure.persistence.entity;
+
+import com.sencon.catapi.domain.enums.JobStatus;
+import com.sencon.catapi.domain.enums.JobType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "collection_job")
+public class CollectionJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false)
+    private JobType jobType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private JobStatus status;
+
+    @Column(name = "parameters", columnDefinition = "TEXT")
+    private String parameters;
+
+    @Column(name = "node_id")
+    private String nodeId;
+
+    @Column(name = "items_fetched", nullable = false)
+    private long itemsFetched;
+
+    @Column(name = "items_persisted", nullable = false)
+    private long itemsPersisted;
+
+    @Column(name = "items_failed", nullable = false)
+    private long itemsFailed;
+
+    @Column(name = "result_summary", columnDefinition = "TEXT")
+    private String resultSummary;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public CollectionJobEntity() {
+    }
+
+    public CollectionJobEntity(JobType jobType, String parameters, String nodeId) {
+        this.jobType = jobType;
+        this.parameters = parameters;
+        this.nodeId = nodeId;
+        this.status = JobStatus.RUNNING;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public JobType getJobType() {
+        return jobType;
+    }
+
+    public void setJobType(JobType jobType) {
+        this.jobType = jobType;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(String parameters) {
+        this.parameters = parameters;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public long getItemsFetched() {
+        return itemsFetched;
+    }
+
+    public void setItemsFetched(long itemsFetched) {
+        this.itemsFetched = itemsFetched;
+    }
+
+    public long getItemsPersisted() {
+        return itemsPersisted;
+    }
+
+    public void setItemsPersisted(long itemsPersisted) {
+        this.itemsPersisted = itemsPersisted;
+    }
+
+    public long getItemsFailed() {
+        return itemsFailed;
+    }
+
+    public void setItemsFailed(long itemsFailed) {
+        this.itemsFailed = itemsFailed;
+    }
+
+    public String getResultSummary() {
+        return resultSummary;
+    }
+
+    public void setResultSummary(String resultSummary) {
+        this.resultSummary = resultSummary;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
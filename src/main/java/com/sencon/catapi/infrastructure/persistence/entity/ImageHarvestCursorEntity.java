@@ -0,0 +1,75 @@
+package com.sencon.catapi.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "image_harvest_cursor")
+public class ImageHarvestCursorEntity {
+
+    @Id
+    @Column(name = "source_key", length = 100)
+    private String sourceKey;
+
+    @Column(name = "next_page", nullable = false)
+    private int nextPage;
+
+    @Column(name = "exhausted", nullable = false)
+    private boolean exhausted;
+
+    @Column(name = "harvested_count", nullable = false)
+    private long harvestedCount;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public ImageHarvestCursorEntity() {
+    }
+
+    public ImageHarvestCursorEntity(String sourceKey) {
+        this.sourceKey = sourceKey;
+    }
+
+    public String getSourceKey() {
+        return sourceKey;
+    }
+
+    public void setSourceKey(String sourceKey) {
+        this.sourceKey = sourceKey;
+    }
+
+    public int getNextPage() {
+        return nextPage;
+    }
+
+    public void setNextPage(int nextPage) {
+        this.nextPage = nextPage;
+    }
+
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    public void setExhausted(boolean exhausted) {
+        this.exhausted = exhausted;
+    }
+
+    public long getHarvestedCount() {
+        return harvestedCount;
+    }
+
+    public void setHarvestedCount(long harvestedCount) {
+        this.harvestedCount = harvestedCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
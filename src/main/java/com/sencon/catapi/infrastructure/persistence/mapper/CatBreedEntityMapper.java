@@ -1,5 +1,6 @@
 package com.sencon.catapi.infrastructure.persistence.mapper;
 
+import com.sencon.catapi.domain.model.BreedFingerprint;
 import com.sencon.catapi.domain.model.CatBreed;
 import com.sencon.catapi.infrastructure.persistence.entity.CatBreedEntity;
 import org.springframework.stereotype.Component;
@@ -22,6 +23,7 @@ public class CatBreedEntityMapper {
         entity.setOrigin(domain.getOrigin());
         entity.setTemperament(domain.getTemperament());
         entity.setDescription(domain.getDescription());
+        entity.setContentHash(BreedFingerprint.of(domain));
         entity.setCreatedAt(domain.getCreatedAt());
         entity.setUpdatedAt(domain.getUpdatedAt());
 
@@ -0,0 +1,174 @@
+package com.sencon.catapi.infrastructure.persistence.repository;
+
+import com.sencon.catapi.domain.model.TemperamentTags;
+import com.sencon.catapi.infrastructure.persistence.entity.CatBreedEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+@Repository
+public class CatBreedBulkRepository {
+
+    private static final int ROWS_PER_STATEMENT = 200;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO cat_breed (id, external_id, name, origin, temperament, description, content_hash, created_at, updated_at) VALUES ";
+
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, NOW(), NOW())";
+
+    // xmax = 0 identifica linhas inseridas; linhas com o mesmo content_hash não são reescritas nem retornadas
+    private static final String ON_CONFLICT_UPDATE = """
+             ON CONFLICT (external_id) DO UPDATE SET
+                name = EXCLUDED.name,
+                origin = EXCLUDED.origin,
+                temperament = EXCLUDED.temperament,
+                description = EXCLUDED.description,
+                content_hash = EXCLUDED.content_hash,
+                updated_at = NOW()
+             WHERE cat_breed.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+             RETURNING id, origin, temperament, (xmax = 0) AS inserted
+            """;
+
+    private static final String ON_CONFLICT_IGNORE = """
+             ON CONFLICT (external_id) DO NOTHING
+             RETURNING id, origin, temperament, TRUE AS inserted
+            """;
+
+    private static final String SELECT_HASHES = "SELECT external_id, content_hash FROM cat_breed WHERE external_id = ANY(?)";
+
+    private static final String DELETE_TAGS = "DELETE FROM cat_breed_temperament WHERE breed_id = ANY(?)";
+
+    private static final String INSERT_TAG = "INSERT INTO cat_breed_temperament (breed_id, temperament) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatBreedBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public UpsertResult upsert(List<CatBreedEntity> breeds, boolean updateExisting) {
+        Map<String, CatBreedEntity> uniqueBreeds = new LinkedHashMap<>();
+        breeds.forEach(breed -> uniqueBreeds.put(breed.getExternalId(), breed));
+        List<CatBreedEntity> rows = new ArrayList<>(uniqueBreeds.values());
+
+        List<WrittenRow> changed = new ArrayList<>();
+        int inserted = 0;
+        int updated = 0;
+        int outdated = 0;
+
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<CatBreedEntity> chunk = rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+            if (!updateExisting) {
+                outdated += countOutdated(chunk);
+            }
+
+            List<WrittenRow> written = jdbcTemplate.query(
+                    buildStatement(chunk.size(), updateExisting),
+                    ps -> bindRows(ps, chunk),
+                    (rs, rowNum) -> new WrittenRow(rs.getObject("id", UUID.class), rs.getString("origin"),
+                            rs.getString("temperament"), rs.getBoolean("inserted")));
+
+            for (WrittenRow row : written) {
+                if (row.inserted()) {
+                    inserted++;
+                } else {
+                    updated++;
+                }
+            }
+            replaceTemperamentTags(written);
+            changed.addAll(written);
+        }
+
+        return new UpsertResult(inserted, updated, rows.size() - inserted - updated - outdated, outdated, List.copyOf(changed));
+    }
+
+    // Sem atualização o DO NOTHING não distingue linha igual de linha com conteúdo novo: compara os hashes antes
+    private int countOutdated(List<CatBreedEntity> chunk) {
+        Map<String, String> existingHashes = new HashMap<>();
+        String[] externalIds = chunk.stream().map(CatBreedEntity::getExternalId).toArray(String[]::new);
+        jdbcTemplate.query((Connection connection) -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_HASHES);
+            ps.setArray(1, connection.createArrayOf("varchar", externalIds));
+            return ps;
+        }, (RowCallbackHandler) rs -> existingHashes.put(rs.getString("external_id"), rs.getString("content_hash")));
+
+        int outdated = 0;
+        for (CatBreedEntity breed : chunk) {
+            if (existingHashes.containsKey(breed.getExternalId())
+                    && !Objects.equals(existingHashes.get(breed.getExternalId()), breed.getContentHash())) {
+                outdated++;
+            }
+        }
+        return outdated;
+    }
+
+    // Só linhas efetivamente escritas voltam no RETURNING; as ignoradas mantêm os mesmos tokens
+    private void replaceTemperamentTags(List<WrittenRow> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+
+        UUID[] breedIds = written.stream().map(WrittenRow::id).toArray(UUID[]::new);
+        jdbcTemplate.update((Connection connection) -> {
+            PreparedStatement ps = connection.prepareStatement(DELETE_TAGS);
+            ps.setArray(1, connection.createArrayOf("uuid", breedIds));
+            return ps;
+        });
+
+        List<Object[]> tagRows = new ArrayList<>();
+        for (WrittenRow row : written) {
+            for (String tag : TemperamentTags.of(row.temperament())) {
+                tagRows.add(new Object[] {row.id(), tag});
+            }
+        }
+        if (!tagRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TAG, tagRows);
+        }
+    }
+
+    private String buildStatement(int rowCount, boolean updateExisting) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        sql.append(updateExisting ? ON_CONFLICT_UPDATE : ON_CONFLICT_IGNORE);
+        return sql.toString();
+    }
+
+    private void bindRows(PreparedStatement ps, List<CatBreedEntity> chunk) throws SQLException {
+        int index = 1;
+        for (CatBreedEntity breed : chunk) {
+            ps.setObject(index++, breed.getId() != null ? breed.getId() : UUID.randomUUID());
+            ps.setString(index++, breed.getExternalId());
+            ps.setString(index++, breed.getName());
+            ps.setString(index++, breed.getOrigin());
+            ps.setString(index++, breed.getTemperament());
+            ps.setString(index++, breed.getDescription());
+            ps.setString(index++, breed.getContentHash());
+        }
+    }
+
+    public record WrittenRow(UUID id, String origin, String temperament, boolean inserted) {}
+
+    /**
+     * @param unchanged linhas existentes com o mesmo conteúdo
+     * @param outdated linhas existentes com conteúdo diferente, mantidas porque a atualização não foi pedida
+     */
+    public record UpsertResult(int inserted, int updated, int unchanged, int outdated, List<WrittenRow> written) {}
+}
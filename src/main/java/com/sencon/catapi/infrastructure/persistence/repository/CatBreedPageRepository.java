@@ -0,0 +1,95 @@
+package com.sencon.catapi.infrastructure.persistence.repository;
+
+import com.sencon.catapi.domain.enums.BreedSortField;
+import com.sencon.catapi.domain.model.BreedSummary;
+import com.sencon.catapi.infrastructure.persistence.entity.CatBreedEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Paginação por keyset: a página seguinte parte de (chave, id) da última linha entregue, com
+ * comparação de tupla atendida pelos índices compostos (campo, id). O custo de cada página
+ * depende do tamanho da página, não da posição no catálogo.
+ */
+@Repository
+public class CatBreedPageRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatBreedPageRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param afterKey chave de ordenação da última linha entregue (como texto do PostgreSQL) ou null na primeira página
+     * @param limit número de linhas; o chamador pede uma a mais para saber se existe próxima página
+     */
+    public List<Keyed<CatBreedEntity>> findPage(BreedSortField sortField, Sort.Direction direction,
+                                                String afterKey, UUID afterId, int limit) {
+        return findPage(CatBreedRowMapper.COLUMNS, (rs, rowNum) -> {
+            CatBreedEntity breed = CatBreedRowMapper.map(rs);
+            return new Keyed<>(breed, breed.getId(), rs.getString("sort_key"));
+        }, sortField, direction, afterKey, afterId, limit);
+    }
+
+    /**
+     * Mesma página de {@link #findPage}, lendo só as colunas de {@link BreedSummary}.
+     */
+    public List<Keyed<BreedSummary>> findSummaryPage(BreedSortField sortField, Sort.Direction direction,
+                                                     String afterKey, UUID afterId, int limit) {
+        return findPage(CatBreedRowMapper.SUMMARY_COLUMNS, (rs, rowNum) -> {
+            BreedSummary summary = CatBreedRowMapper.mapSummary(rs);
+            return new Keyed<>(summary, summary.id(), rs.getString("sort_key"));
+        }, sortField, direction, afterKey, afterId, limit);
+    }
+
+    private <T> List<Keyed<T>> findPage(String columns, RowMapper<Keyed<T>> rowMapper, BreedSortField sortField,
+                                        Sort.Direction direction, String afterKey, UUID afterId, int limit) {
+        String keyExpression = keyExpression(sortField);
+        String order = direction.isAscending() ? "ASC" : "DESC";
+
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(columns)
+                .append(", (").append(keyExpression).append(")::text AS sort_key FROM cat_breed cb");
+
+        List<Object> args = new ArrayList<>(3);
+        if (afterKey != null && afterId != null) {
+            sql.append(" WHERE (").append(keyExpression).append(", cb.id) ")
+               .append(direction.isAscending() ? ">" : "<")
+               .append(" (?::").append(keyType(sortField)).append(", ?)");
+            args.add(afterKey);
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY ").append(keyExpression).append(' ').append(order)
+           .append(", cb.id ").append(order)
+           .append(" LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), rowMapper, args.toArray());
+    }
+
+    // Expressões idênticas às dos índices em 009-add-cat-breed-keyset-indexes.xml
+    private static String keyExpression(BreedSortField sortField) {
+        return switch (sortField) {
+            case NAME -> "cb.name";
+            case ORIGIN -> "COALESCE(cb.origin, '')";
+            case CREATED_AT -> "cb.created_at";
+            case UPDATED_AT -> "cb.updated_at";
+        };
+    }
+
+    private static String keyType(BreedSortField sortField) {
+        return switch (sortField) {
+            case NAME, ORIGIN -> "text";
+            case CREATED_AT, UPDATED_AT -> "timestamptz";
+        };
+    }
+
+    public record Keyed<T>(T value, UUID id, String sortKey) {}
+}
@@ -1,11 +1,14 @@
 package com.sencon.catapi.infrastructure.persistence.repository;
 
+import com.sencon.catapi.domain.model.BreedSummary;
 import com.sencon.catapi.infrastructure.persistence.entity.CatBreedEntity;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,8 +18,21 @@ public interface CatBreedRepository extends JpaRepository<CatBreedEntity, UUID>
 
     Optional<CatBreedEntity> findByExternalId(String externalId);
 
-    @Query("SELECT cb FROM CatBreedEntity cb WHERE LOWER(cb.temperament) LIKE LOWER(CONCAT('%', :temperament, '%'))")
-    List<CatBreedEntity> findByTemperamentContainingIgnoreCase(@Param("temperament") String temperament);
+    // Tokens já normalizados por TemperamentTags; atendidas pelo índice idx_cat_breed_temperament_token
+    @Query(value = """
+            SELECT cb.* FROM cat_breed cb
+            WHERE cb.id IN (SELECT bt.breed_id FROM cat_breed_temperament bt WHERE bt.temperament IN (:tags))
+            ORDER BY cb.name
+            """, nativeQuery = true)
+    List<CatBreedEntity> findByAnyTemperament(@Param("tags") Collection<String> tags);
+
+    @Query(value = """
+            SELECT cb.* FROM cat_breed cb
+            WHERE cb.id IN (SELECT bt.breed_id FROM cat_breed_temperament bt WHERE bt.temperament IN (:tags)
+                            GROUP BY bt.breed_id HAVING COUNT(*) = :tagCount)
+            ORDER BY cb.name
+            """, nativeQuery = true)
+    List<CatBreedEntity> findByAllTemperaments(@Param("tags") Collection<String> tags, @Param("tagCount") long tagCount);
 
     @Query("SELECT cb FROM CatBreedEntity cb WHERE LOWER(cb.origin) LIKE LOWER(CONCAT('%', :origin, '%'))")
     List<CatBreedEntity> findByOriginContainingIgnoreCase(@Param("origin") String origin);
@@ -27,5 +43,9 @@ public interface CatBreedRepository extends JpaRepository<CatBreedEntity, UUID>
     @Query("SELECT cb FROM CatBreedEntity cb ORDER BY cb.name")
     List<CatBreedEntity> findAllOrderByName();
 
+    // Projeção: lê só as colunas do resumo, nunca temperament/description
+    @Query("SELECT new com.sencon.catapi.domain.model.BreedSummary(cb.id, cb.externalId, cb.name, cb.origin) FROM CatBreedEntity cb")
+    List<BreedSummary> findAllSummaries(Sort sort);
+
     boolean existsByExternalId(String externalId);
 }
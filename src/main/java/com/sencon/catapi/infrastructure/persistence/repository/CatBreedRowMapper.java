@@ -0,0 +1,46 @@
+package com.sencon.catapi.infrastructure.persistence.repository;
+
+import com.sencon.catapi.domain.model.BreedSummary;
+import com.sencon.catapi.infrastructure.persistence.entity.CatBreedEntity;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Mapeamento das colunas de cat_breed para as consultas JDBC (busca, paginação e resumos).
+ */
+final class CatBreedRowMapper {
+
+    static final String COLUMNS = "cb.id, cb.external_id, cb.name, cb.origin, cb.temperament, cb.description, "
+            + "cb.content_hash, cb.created_at, cb.updated_at";
+
+    // Colunas de BreedSummary: temperament e description ficam fora da leitura
+    static final String SUMMARY_COLUMNS = "cb.id, cb.external_id, cb.name, cb.origin";
+
+    private CatBreedRowMapper() {
+    }
+
+    static CatBreedEntity map(ResultSet rs) throws SQLException {
+        CatBreedEntity breed = new CatBreedEntity(
+                rs.getString("external_id"),
+                rs.getString("name"),
+                rs.getString("origin"),
+                rs.getString("temperament"),
+                rs.getString("description"));
+        breed.setId(rs.getObject("id", UUID.class));
+        breed.setContentHash(rs.getString("content_hash"));
+
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        breed.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+        breed.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+        return breed;
+    }
+
+    static BreedSummary mapSummary(ResultSet rs) throws SQLException {
+        return new BreedSummary(rs.getObject("id", UUID.class), rs.getString("external_id"),
+                rs.getString("name"), rs.getString("origin"));
+    }
+}
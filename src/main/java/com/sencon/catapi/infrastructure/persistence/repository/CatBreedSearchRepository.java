@@ -0,0 +1,72 @@
+package com.sencon.catapi.infrastructure.persistence.repository;
+
+import com.sencon.catapi.domain.model.BreedSummary;
+import com.sencon.catapi.infrastructure.persistence.entity.CatBreedEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Busca ranqueada sobre as colunas geradas search_vector (full-text, GIN) e search_text (trigramas, GIN).
+ * As duas condições do WHERE são atendidas pelos índices e combinadas em BitmapOr, então o custo
+ * acompanha o número de candidatos e não o tamanho do catálogo.
+ */
+@Repository
+public class CatBreedSearchRepository {
+
+    private static final String SET_SIMILARITY_THRESHOLD =
+            "SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)";
+
+    private static final String SEARCH = "SELECT " + CatBreedRowMapper.COLUMNS + ",";
+
+    private static final String SEARCH_SUMMARIES = "SELECT " + CatBreedRowMapper.SUMMARY_COLUMNS + ",";
+
+    // Nome tem peso A no vetor; ts_rank_cd com normalização 32 fica entre 0 e 1, assim como word_similarity
+    private static final String RANKED = """
+                   ts_rank_cd(cb.search_vector, websearch_to_tsquery('english', ?), 32)
+                       + word_similarity(LOWER(?), cb.search_text) AS score
+            FROM cat_breed cb
+            WHERE cb.search_vector @@ websearch_to_tsquery('english', ?)
+               OR LOWER(?) <% cb.search_text
+            ORDER BY score DESC, cb.name
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double similarityThreshold;
+
+    public CatBreedSearchRepository(JdbcTemplate jdbcTemplate,
+                                    @Value("${cat.api.search.similarity-threshold:0.4}") double similarityThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScoredBreed> search(String text, int limit) {
+        return search(SEARCH, (rs, rowNum) -> new ScoredBreed(CatBreedRowMapper.map(rs), rs.getDouble("score")),
+                text, limit);
+    }
+
+    // Mesmo ranking de search, lendo só as colunas do resumo (o índice cobre search_vector/search_text)
+    @Transactional(readOnly = true)
+    public List<ScoredSummary> searchSummaries(String text, int limit) {
+        return search(SEARCH_SUMMARIES,
+                (rs, rowNum) -> new ScoredSummary(CatBreedRowMapper.mapSummary(rs), rs.getDouble("score")),
+                text, limit);
+    }
+
+    private <T> List<T> search(String select, RowMapper<T> rowMapper, String text, int limit) {
+        // set_config(..., true) vale só para a transação corrente
+        jdbcTemplate.queryForObject(SET_SIMILARITY_THRESHOLD, String.class, String.valueOf(similarityThreshold));
+
+        return jdbcTemplate.query(select + RANKED, rowMapper, text, text, text, text, limit);
+    }
+
+    public record ScoredBreed(CatBreedEntity breed, double score) {}
+
+    public record ScoredSummary(BreedSummary summary, double score) {}
+}
@@ -0,0 +1,66 @@
+package com.sencon.catapi.infrastructure.persistence.repository;
+
+import com.sencon.catapi.domain.model.BreedSummary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Filtros de raças que leem só as colunas de {@link BreedSummary}, para as listagens com view=summary
+ * (ou fields contido no resumo) quando não há snapshot. Mesmos filtros e ordem de CatBreedRepository.
+ */
+@Repository
+public class CatBreedSummaryRepository {
+
+    // Tokens já normalizados por TemperamentTags; atendidas pelo índice idx_cat_breed_temperament_token
+    private static final String BY_ANY_TEMPERAMENT = "SELECT " + CatBreedRowMapper.SUMMARY_COLUMNS + """
+             FROM cat_breed cb
+            WHERE cb.id IN (SELECT bt.breed_id FROM cat_breed_temperament bt WHERE bt.temperament = ANY(?))
+            ORDER BY cb.name
+            """;
+
+    private static final String BY_ALL_TEMPERAMENTS = "SELECT " + CatBreedRowMapper.SUMMARY_COLUMNS + """
+             FROM cat_breed cb
+            WHERE cb.id IN (SELECT bt.breed_id FROM cat_breed_temperament bt WHERE bt.temperament = ANY(?)
+                            GROUP BY bt.breed_id HAVING COUNT(*) = ?)
+            ORDER BY cb.name
+            """;
+
+    private static final String BY_ORIGIN = "SELECT " + CatBreedRowMapper.SUMMARY_COLUMNS + """
+             FROM cat_breed cb
+            WHERE LOWER(cb.origin) LIKE '%' || LOWER(?) || '%'
+            ORDER BY cb.name
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatBreedSummaryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<BreedSummary> findByAnyTemperament(List<String> tags) {
+        String[] tagArray = tags.toArray(String[]::new);
+        return jdbcTemplate.query((Connection connection) -> {
+            PreparedStatement ps = connection.prepareStatement(BY_ANY_TEMPERAMENT);
+            ps.setArray(1, connection.createArrayOf("varchar", tagArray));
+            return ps;
+        }, (rs, rowNum) -> CatBreedRowMapper.mapSummary(rs));
+    }
+
+    public List<BreedSummary> findByAllTemperaments(List<String> tags) {
+        String[] tagArray = tags.toArray(String[]::new);
+        return jdbcTemplate.query((Connection connection) -> {
+            PreparedStatement ps = connection.prepareStatement(BY_ALL_TEMPERAMENTS);
+            ps.setArray(1, connection.createArrayOf("varchar", tagArray));
+            ps.setLong(2, tagArray.length);
+            return ps;
+        }, (rs, rowNum) -> CatBreedRowMapper.mapSummary(rs));
+    }
+
+    public List<BreedSummary> findByOriginContainingIgnoreCase(String origin) {
+        return jdbcTemplate.query(BY_ORIGIN, (rs, rowNum) -> CatBreedRowMapper.mapSummary(rs), origin);
+    }
+}
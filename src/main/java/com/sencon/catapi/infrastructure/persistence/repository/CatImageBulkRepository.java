@@ -0,0 +1,78 @@
+package com.sencon.catapi.infrastructure.persistence.repository;
+
+import com.sencon.catapi.infrastructure.persistence.entity.CatImageEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Repository
+public class CatImageBulkRepository {
+
+    private static final int EXTERNAL_ID_FETCH_SIZE = 1000;
+
+    private static final String INSERT_IMAGE = """
+            INSERT INTO cat_image (id, external_id, url, width, height, image_type, breed_id, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, NOW())
+            ON CONFLICT (external_id) DO NOTHING
+            """;
+
+    private static final String SELECT_EXTERNAL_IDS = "SELECT external_id FROM cat_image";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public CatImageBulkRepository(JdbcTemplate jdbcTemplate,
+                                  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public int insertNew(List<CatImageEntity> images) {
+        if (images.isEmpty()) {
+            return 0;
+        }
+
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_IMAGE, images, batchSize, (ps, image) -> {
+            ps.setObject(1, image.getId() != null ? image.getId() : UUID.randomUUID());
+            ps.setString(2, image.getExternalId());
+            ps.setString(3, image.getUrl());
+            ps.setObject(4, image.getWidth(), Types.INTEGER);
+            ps.setObject(5, image.getHeight(), Types.INTEGER);
+            ps.setString(6, image.getImageType().name());
+            if (image.getBreedId() != null) {
+                ps.setObject(7, image.getBreedId());
+            } else {
+                ps.setNull(7, Types.OTHER);
+            }
+        });
+
+        int inserted = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    inserted++;
+                }
+            }
+        }
+        return inserted;
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachExternalId(Consumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_EXTERNAL_IDS);
+            ps.setFetchSize(EXTERNAL_ID_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+    }
+}
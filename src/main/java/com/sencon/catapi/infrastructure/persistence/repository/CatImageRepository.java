@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +21,9 @@ public interface CatImageRepository extends JpaRepository<CatImageEntity, UUID>
 
     List<CatImageEntity> findByBreedId(UUID breedId);
 
+    @Query("SELECT ci FROM CatImageEntity ci WHERE ci.breedId IN :breedIds ORDER BY ci.createdAt")
+    List<CatImageEntity> findByBreedIdIn(@Param("breedIds") Collection<UUID> breedIds);
+
     @Query("SELECT ci FROM CatImageEntity ci WHERE ci.imageType = :imageType AND ci.breedId = :breedId")
     List<CatImageEntity> findByImageTypeAndBreedId(@Param("imageType") ImageType imageType, @Param("breedId") UUID breedId);
 
@@ -0,0 +1,97 @@
+package com.sencon.catapi.infrastructure.persistence.repository;
+
+import com.sencon.catapi.domain.enums.ImageType;
+import com.sencon.catapi.infrastructure.persistence.entity.CatBreedEntity;
+import com.sencon.catapi.infrastructure.persistence.entity.CatImageEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Leitura do catálogo completo (raças + imagens) por cursor do servidor: o driver traz fetchSize linhas
+ * por vez e cada linha é repassada ao visitor assim que lida, sem acumular o resultado em memória.
+ */
+@Repository
+public class CatalogExportRepository {
+
+    // Imagens chegam agrupadas por raça, na mesma ordem de nome usada pelas consultas
+    private static final String SELECT_CATALOG = "SELECT " + CatBreedRowMapper.COLUMNS + ","
+            + """
+                   ci.id AS image_id, ci.external_id AS image_external_id, ci.url AS image_url,
+                   ci.width AS image_width, ci.height AS image_height, ci.image_type AS image_type,
+                   ci.created_at AS image_created_at
+            FROM cat_breed cb
+            LEFT JOIN cat_image ci ON ci.breed_id = cb.id
+            ORDER BY cb.name, cb.id, ci.created_at, ci.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public CatalogExportRepository(JdbcTemplate jdbcTemplate,
+                                   @Value("${cat.api.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    // O cursor do PostgreSQL só é usado com autocommit desligado, daí a transação
+    @Transactional(readOnly = true)
+    public void forEachBreedWithImages(CatalogVisitor visitor) {
+        UUID[] currentBreedId = new UUID[1];
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_CATALOG);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            UUID breedId = rs.getObject("id", UUID.class);
+            if (!breedId.equals(currentBreedId[0])) {
+                if (currentBreedId[0] != null) {
+                    visitor.endBreed();
+                }
+                currentBreedId[0] = breedId;
+                visitor.startBreed(CatBreedRowMapper.map(rs));
+            }
+
+            if (rs.getObject("image_id") != null) {
+                visitor.image(mapImage(rs, breedId));
+            }
+        });
+
+        if (currentBreedId[0] != null) {
+            visitor.endBreed();
+        }
+    }
+
+    private static CatImageEntity mapImage(ResultSet rs, UUID breedId) throws SQLException {
+        CatImageEntity image = new CatImageEntity(
+                rs.getString("image_external_id"),
+                rs.getString("image_url"),
+                (Integer) rs.getObject("image_width"),
+                (Integer) rs.getObject("image_height"),
+                ImageType.valueOf(rs.getString("image_type")),
+                breedId);
+        image.setId(rs.getObject("image_id", UUID.class));
+
+        Timestamp createdAt = rs.getTimestamp("image_created_at");
+        image.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+        return image;
+    }
+
+    public interface CatalogVisitor {
+
+        void startBreed(CatBreedEntity breed);
+
+        void image(CatImageEntity image);
+
+        void endBreed();
+    }
+}
@@ -0,0 +1,37 @@
+package com.sencon.catapi.infrastructure.persistence.repository;
+
+import com.sencon.catapi.domain.enums.JobStatus;
+import com.sencon.catapi.domain.enums.JobType;
+import com.sencon.catapi.infrastructure.persistence.entity.CollectionJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CollectionJobRepository extends JpaRepository<CollectionJobEntity, UUID> {
+
+    List<CollectionJobEntity> findTop20ByOrderByCreatedAtDesc();
+
+    Optional<CollectionJobEntity> findFirstByFinishedAtNotNullOrderByFinishedAtDesc();
+
+    Optional<CollectionJobEntity> findFirstByJobTypeInAndStatusOrderByFinishedAtDesc(Collection<JobType> jobTypes,
+                                                                                     JobStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE CollectionJobEntity j SET j.itemsFetched = :fetched, j.itemsPersisted = :persisted, " +
+           "j.itemsFailed = :failed WHERE j.id = :id AND j.status = :status")
+    int updateProgress(@Param("id") UUID id,
+                       @Param("fetched") long fetched,
+                       @Param("persisted") long persisted,
+                       @Param("failed") long failed,
+                       @Param("status") JobStatus status);
+}
@@ -0,0 +1,100 @@
+package com.sencon.catapi.infrastructure.persistence.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Locks de sessão do PostgreSQL (pg_try_advisory_lock) para garantir que apenas um nó
+ * execute uma coleta por vez. O lock vive na conexão dedicada, que fica reservada até o close().
+ */
+@Repository
+public class CollectionLockRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollectionLockRepository.class);
+
+    private static final int LOCK_NAMESPACE = 0x43415431;
+
+    private final DataSource dataSource;
+
+    public CollectionLockRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public Optional<CollectionLock> tryLock(String resource) {
+        int key = resource.hashCode();
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+
+            if (executeLockFunction(connection, "SELECT pg_try_advisory_lock(?, ?)", key)) {
+                return Optional.of(new CollectionLock(connection, resource, key));
+            }
+
+            connection.close();
+            return Optional.empty();
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new IllegalStateException("Erro ao obter lock de coleta para " + resource, e);
+        }
+    }
+
+    private static boolean executeLockFunction(Connection connection, String sql, int key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, key);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("Erro ao fechar conexão do lock: {}", e.getMessage());
+            }
+        }
+    }
+
+    public static final class CollectionLock implements AutoCloseable {
+
+        private final Connection connection;
+        private final String resource;
+        private final int key;
+        private boolean released;
+
+        private CollectionLock(Connection connection, String resource, int key) {
+            this.connection = connection;
+            this.resource = resource;
+            this.key = key;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+
+            try {
+                executeLockFunction(connection, "SELECT pg_advisory_unlock(?, ?)", key);
+            } catch (SQLException e) {
+                // o fechamento da sessão libera o lock de qualquer forma
+                logger.warn("Erro ao liberar lock de coleta {}: {}", resource, e.getMessage());
+            } finally {
+                closeQuietly(connection);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.sencon.catapi.infrastructure.persistence.repository;
+
+import com.sencon.catapi.domain.model.DatasetVersion;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class DatasetVersionRepository {
+
+    private static final String SELECT_CURRENT = "SELECT version, updated_at FROM dataset_version WHERE id = 1";
+
+    private static final String BUMP =
+            "UPDATE dataset_version SET version = version + 1, updated_at = NOW() WHERE id = 1 RETURNING version, updated_at";
+
+    private static final RowMapper<DatasetVersion> MAPPER = (rs, rowNum) ->
+            new DatasetVersion(rs.getLong("version"), rs.getTimestamp("updated_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatasetVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public DatasetVersion current() {
+        return jdbcTemplate.queryForObject(SELECT_CURRENT, MAPPER);
+    }
+
+    public DatasetVersion bump() {
+        return jdbcTemplate.queryForObject(BUMP, MAPPER);
+    }
+}
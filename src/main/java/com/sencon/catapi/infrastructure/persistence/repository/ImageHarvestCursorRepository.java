@@ -0,0 +1,9 @@
+package com.sencon.catapi.infrastructure.persistence.repository;
+
+import com.sencon.catapi.infrastructure.persistence.entity.ImageHarvestCursorEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImageHarvestCursorRepository extends JpaRepository<ImageHarvestCursorEntity, String> {
+}
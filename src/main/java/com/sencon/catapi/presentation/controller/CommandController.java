@@ -2,23 +2,36 @@ package com.sencon.catapi.presentation.controller;
 
 import com.sencon.catapi.application.command.dto.CollectBreedsCommand;
 import com.sencon.catapi.application.command.dto.CollectImagesCommand;
+import com.sencon.catapi.application.command.dto.CollectionJobView;
+import com.sencon.catapi.application.command.dto.HarvestImagesCommand;
 import com.sencon.catapi.application.command.handler.CollectBreedsCommandHandler;
 import com.sencon.catapi.application.command.handler.CollectImagesCommandHandler;
+import com.sencon.catapi.application.command.handler.HarvestImagesCommandHandler;
+import com.sencon.catapi.application.command.job.CollectionJobService;
+import com.sencon.catapi.application.command.job.JobAlreadyRunningException;
+import com.sencon.catapi.application.command.job.JobProgress;
+import com.sencon.catapi.domain.enums.JobType;
 import com.sencon.catapi.presentation.dto.ApiResponse;
 import com.sencon.catapi.presentation.dto.CollectionRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/commands")
+@Validated
 @Tag(name = "Commands", description = "Endpoints para coleta de dados da API externa")
 public class CommandController {
 
@@ -26,48 +39,51 @@ public class CommandController {
 
     private final CollectBreedsCommandHandler collectBreedsHandler;
     private final CollectImagesCommandHandler collectImagesHandler;
+    private final HarvestImagesCommandHandler harvestImagesHandler;
+    private final CollectionJobService jobService;
 
     public CommandController(CollectBreedsCommandHandler collectBreedsHandler,
-                           CollectImagesCommandHandler collectImagesHandler) {
+                           CollectImagesCommandHandler collectImagesHandler,
+                           HarvestImagesCommandHandler harvestImagesHandler,
+                           CollectionJobService jobService) {
         this.collectBreedsHandler = collectBreedsHandler;
         this.collectImagesHandler = collectImagesHandler;
+        this.harvestImagesHandler = harvestImagesHandler;
+        this.jobService = jobService;
     }
 
     @PostMapping("/collect-breeds")
     @Operation(summary = "Coletar raças de gatos", 
-               description = "Inicia o processo de coleta de raças de gatos da API externa")
+               description = "Inicia em segundo plano a coleta de raças de gatos da API externa e retorna o job criado")
     @ApiResponses(value = {
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Coleta iniciada com sucesso"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Job de coleta iniciado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Outra coleta já em execução no cluster"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public CompletableFuture<ResponseEntity<ApiResponse<String>>> collectBreeds(
+    public ResponseEntity<ApiResponse<CollectionJobView>> collectBreeds(
             @RequestParam(defaultValue = "false") boolean forceUpdate) {
         
         logger.info("Requisição para coleta de raças recebida. Force update: {}", forceUpdate);
         
         CollectBreedsCommand command = new CollectBreedsCommand(forceUpdate);
         
-        return collectBreedsHandler.handle(command)
-                .thenApply(result -> {
-                    String message = String.format("Coleta de raças concluída. %d raças processadas.", result);
-                    return ResponseEntity.ok(ApiResponse.success(message, "Processo concluído"));
-                })
-                .exceptionally(throwable -> {
-                    logger.error("Erro durante coleta de raças: ", throwable);
-                    return ResponseEntity.internalServerError()
-                            .body(ApiResponse.error("Erro durante a coleta de raças: " + throwable.getMessage()));
-                });
+        return submitJob(JobType.COLLECT_BREEDS, "forceUpdate=" + forceUpdate, "Coleta de raças iniciada",
+                progress -> collectBreedsHandler.handle(command, progress)
+                        .thenApply(result -> String.format("%d novas, %d atualizadas, %d ignoradas sem alteração, "
+                                        + "%d desatualizadas mantidas (use forceUpdate=true)",
+                                result.getInserted(), result.getUpdated(), result.getSkipped(), result.getOutdated())));
     }
 
     @PostMapping("/collect-images")
     @Operation(summary = "Coletar imagens de gatos", 
-               description = "Inicia o processo de coleta de imagens de gatos da API externa")
+               description = "Inicia em segundo plano a coleta de imagens de gatos da API externa e retorna o job criado")
     @ApiResponses(value = {
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Coleta iniciada com sucesso"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Job de coleta iniciado"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Dados de entrada inválidos"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Outra coleta já em execução no cluster"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public CompletableFuture<ResponseEntity<ApiResponse<String>>> collectImages(
+    public ResponseEntity<ApiResponse<CollectionJobView>> collectImages(
             @Valid @RequestBody CollectionRequest request) {
         
         logger.info("Requisição para coleta de imagens recebida: {}", request);
@@ -80,28 +96,47 @@ public class CommandController {
                 request.getSpecialImagesCount()
         );
         
-        return collectImagesHandler.handle(command)
-                .thenApply(result -> {
-                    String message = String.format("Coleta de imagens concluída. %d imagens coletadas em %d operações.", 
-                                                  result.getTotalImages(), result.getCollectionsExecuted());
-                    return ResponseEntity.ok(ApiResponse.success(message, "Processo concluído"));
-                })
-                .exceptionally(throwable -> {
-                    logger.error("Erro durante coleta de imagens: ", throwable);
-                    return ResponseEntity.internalServerError()
-                            .body(ApiResponse.error("Erro durante a coleta de imagens: " + throwable.getMessage()));
-                });
+        return submitJob(JobType.COLLECT_IMAGES, request.toString(), "Coleta de imagens iniciada",
+                progress -> collectImagesHandler.handle(command, progress)
+                        .thenApply(result -> String.format("%d imagens coletadas em %d operações",
+                                result.getTotalImages(), result.getCollectionsExecuted())));
+    }
+
+    @PostMapping("/harvest-images")
+    @Operation(summary = "Harvest paginado de imagens", 
+               description = "Percorre em segundo plano as páginas de imagens de cada raça e categoria, retomando do último cursor salvo")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Job de harvest iniciado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Dados de entrada inválidos"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Outra coleta já em execução no cluster"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<ApiResponse<CollectionJobView>> harvestImages(
+            @RequestParam(defaultValue = "25") @Min(1) @Max(100) int pageSize,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int maxPagesPerSource,
+            @RequestParam(defaultValue = "false") boolean restart) {
+        
+        logger.info("Requisição para harvest de imagens recebida. Página: {}, Máx. páginas: {}, Reiniciar: {}", 
+                   pageSize, maxPagesPerSource, restart);
+        
+        HarvestImagesCommand command = new HarvestImagesCommand(pageSize, maxPagesPerSource, restart);
+        String parameters = String.format("pageSize=%d, maxPagesPerSource=%d, restart=%s", pageSize, maxPagesPerSource, restart);
+        
+        return submitJob(JobType.HARVEST_IMAGES, parameters, "Harvest de imagens iniciado",
+                progress -> harvestImagesHandler.handle(command, progress)
+                        .thenApply(result -> String.format("%d novas imagens coletadas", result)));
     }
 
     @PostMapping("/collect-all")
     @Operation(summary = "Coletar tudo", 
-               description = "Inicia o processo completo de coleta de raças e imagens")
+               description = "Inicia em segundo plano o processo completo de coleta de raças e imagens")
     @ApiResponses(value = {
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Coleta completa iniciada com sucesso"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Job de coleta completa iniciado"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Dados de entrada inválidos"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Outra coleta já em execução no cluster"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public CompletableFuture<ResponseEntity<ApiResponse<String>>> collectAll(
+    public ResponseEntity<ApiResponse<CollectionJobView>> collectAll(
             @Valid @RequestBody CollectionRequest request) {
         
         logger.info("Requisição para coleta completa recebida: {}", request);
@@ -115,25 +150,31 @@ public class CommandController {
                 request.getSpecialImagesCount()
         );
         
-        return collectBreedsHandler.handle(breedsCommand)
-                .thenCompose(breedsResult -> {
-                    logger.info("Coleta de raças concluída, iniciando coleta de imagens");
-                    return collectImagesHandler.handle(imagesCommand)
-                            .thenApply(imagesResult -> new Object[]{breedsResult, imagesResult});
-                })
-                .thenApply(results -> {
-                    Integer breedsCount = (Integer) results[0];
-                    CollectImagesCommandHandler.CollectionResult imagesResult = 
-                            (CollectImagesCommandHandler.CollectionResult) results[1];
-                    
-                    String message = String.format("Coleta completa concluída. %d raças e %d imagens processadas.", 
-                                                  breedsCount, imagesResult.getTotalImages());
-                    return ResponseEntity.ok(ApiResponse.success(message, "Processo completo concluído"));
-                })
-                .exceptionally(throwable -> {
-                    logger.error("Erro durante coleta completa: ", throwable);
-                    return ResponseEntity.internalServerError()
-                            .body(ApiResponse.error("Erro durante a coleta completa: " + throwable.getMessage()));
-                });
+        return submitJob(JobType.COLLECT_ALL, request.toString(), "Coleta completa iniciada",
+                progress -> collectBreedsHandler.handle(breedsCommand, progress)
+                        .thenCompose(breedsResult -> {
+                            logger.info("Coleta de raças concluída, iniciando coleta de imagens");
+                            return collectImagesHandler.handle(imagesCommand, progress)
+                                    .thenApply(imagesResult -> String.format("%d raças e %d imagens processadas",
+                                            breedsResult.getTotalProcessed(), imagesResult.getTotalImages()));
+                        }));
+    }
+
+    private ResponseEntity<ApiResponse<CollectionJobView>> submitJob(
+            JobType jobType, String parameters, String message,
+            Function<JobProgress, CompletableFuture<String>> work) {
+        try {
+            CollectionJobView job = jobService.submit(jobType, parameters, work);
+            return ResponseEntity.accepted()
+                    .body(ApiResponse.success(message + ". Acompanhe em /api/jobs/" + job.id(), job));
+        } catch (JobAlreadyRunningException e) {
+            logger.warn("Job {} recusado: {}", jobType, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Erro ao iniciar job {}: ", jobType, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Erro ao iniciar o job de coleta: " + e.getMessage()));
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.sencon.catapi.presentation.controller;
 
+import com.sencon.catapi.application.query.readmodel.CatalogReadModel;
 import com.sencon.catapi.presentation.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -8,7 +9,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -16,16 +20,30 @@ import java.util.Map;
 @Tag(name = "Health", description = "Endpoints para verificação de saúde da aplicação")
 public class HealthController {
 
+    private final CatalogReadModel catalogReadModel;
+
+    public HealthController(CatalogReadModel catalogReadModel) {
+        this.catalogReadModel = catalogReadModel;
+    }
+
     @GetMapping
     @Operation(summary = "Verificar saúde da aplicação", 
                description = "Retorna o status de saúde da aplicação")
     public ResponseEntity<ApiResponse<Map<String, Object>>> health() {
-        Map<String, Object> healthData = Map.of(
-                "status", "UP",
-                "timestamp", LocalDateTime.now(),
-                "application", "cat-api",
-                "version", "1.0.0"
-        );
+        Map<String, Object> healthData = new LinkedHashMap<>();
+        healthData.put("status", "UP");
+        healthData.put("timestamp", LocalDateTime.now());
+        healthData.put("application", "cat-api");
+        healthData.put("version", "1.0.0");
+        healthData.put("catalog", catalogReadModel.current()
+                .<Map<String, Object>>map(snapshot -> Map.of(
+                        "loaded", true,
+                        "breeds", snapshot.breedCount(),
+                        "images", snapshot.imageCount(),
+                        "datasetVersion", snapshot.datasetVersion().version(),
+                        "builtAt", snapshot.builtAt().toString(),
+                        "ageSeconds", Duration.between(snapshot.builtAt(), Instant.now()).toSeconds()))
+                .orElse(Map.of("loaded", false)));
         
         return ResponseEntity.ok(ApiResponse.success("Aplicação funcionando corretamente", healthData));
     }
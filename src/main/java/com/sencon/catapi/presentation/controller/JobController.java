@@ -0,0 +1,98 @@
+package com.sencon.catapi.presentation.controller;
+
+import com.sencon.catapi.application.command.dto.CollectionJobView;
+import com.sencon.catapi.application.command.dto.JobProgressView;
+import com.sencon.catapi.application.command.job.CollectionJobService;
+import com.sencon.catapi.presentation.dto.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/jobs")
+@Tag(name = "Jobs", description = "Acompanhamento e cancelamento dos jobs de coleta")
+public class JobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobController.class);
+
+    private final CollectionJobService jobService;
+
+    public JobController(CollectionJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar jobs de coleta",
+               description = "Retorna os 20 jobs de coleta mais recentes")
+    public ResponseEntity<ApiResponse<List<CollectionJobView>>> listJobs() {
+        List<CollectionJobView> jobs = jobService.getRecentJobs();
+        return ResponseEntity.ok(ApiResponse.success(String.format("Encontrados %d jobs", jobs.size()), jobs));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Consultar job de coleta",
+               description = "Retorna o status e os contadores de um job de coleta")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Job encontrado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Job não encontrado")
+    })
+    public ResponseEntity<ApiResponse<CollectionJobView>> getJob(
+            @Parameter(description = "ID do job") @PathVariable UUID id) {
+
+        return jobService.getJob(id)
+                .map(job -> ResponseEntity.ok(ApiResponse.success(job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Job não encontrado: " + id)));
+    }
+
+    @GetMapping("/{id}/progress")
+    @Operation(summary = "Progresso do job de coleta",
+               description = "Retorna itens buscados, persistidos e com falha e a vazão atual do job")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Progresso retornado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Job não encontrado")
+    })
+    public ResponseEntity<ApiResponse<JobProgressView>> getProgress(
+            @Parameter(description = "ID do job") @PathVariable UUID id) {
+
+        return jobService.getProgress(id)
+                .map(progress -> ResponseEntity.ok(ApiResponse.success(progress)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Job não encontrado: " + id)));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancelar job de coleta",
+               description = "Solicita o cancelamento de um job em execução neste nó; o job termina como CANCELLED quando as gravações em andamento concluírem")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Cancelamento solicitado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Job não encontrado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Job não está em execução")
+    })
+    public ResponseEntity<ApiResponse<String>> cancelJob(
+            @Parameter(description = "ID do job") @PathVariable UUID id) {
+
+        logger.info("Requisição de cancelamento recebida para o job {}", id);
+
+        if (jobService.cancel(id)) {
+            return ResponseEntity.accepted().body(ApiResponse.success("Cancelamento solicitado", id.toString()));
+        }
+
+        if (jobService.getJob(id).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Job não encontrado: " + id));
+        }
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("Job não está em execução neste nó: " + id));
+    }
+}
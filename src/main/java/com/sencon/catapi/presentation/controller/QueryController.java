@@ -2,22 +2,39 @@ package com.sencon.catapi.presentation.controller;
 
 import com.sencon.catapi.application.query.dto.*;
 import com.sencon.catapi.application.query.handler.BreedQueryHandler;
+import com.sencon.catapi.application.query.service.CatalogExportService;
+import com.sencon.catapi.domain.enums.TemperamentMatch;
 import com.sencon.catapi.presentation.dto.ApiResponse;
+import com.sencon.catapi.presentation.dto.BatchBreedRequest;
+import com.sencon.catapi.presentation.dto.BreedFieldProjection;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/breeds")
@@ -27,37 +44,70 @@ public class QueryController {
 
     private static final Logger logger = LoggerFactory.getLogger(QueryController.class);
 
+    private static final int GZIP_BUFFER_SIZE = 8192;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final BreedQueryHandler breedQueryHandler;
+    private final CatalogExportService catalogExportService;
 
-    public QueryController(BreedQueryHandler breedQueryHandler) {
+    public QueryController(BreedQueryHandler breedQueryHandler, CatalogExportService catalogExportService) {
         this.breedQueryHandler = breedQueryHandler;
+        this.catalogExportService = catalogExportService;
     }
 
     @GetMapping
     @Operation(summary = "Listar todas as raças", 
-               description = "Retorna uma lista com todas as raças de gatos cadastradas")
+               description = "Retorna as raças de gatos cadastradas. Com pageSize ou cursor, retorna uma página "
+                           + "(paginação por cursor) e o nextCursor para a página seguinte")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Ordenação, cursor ou campos inválidos"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @SuppressWarnings("unchecked")
     public CompletableFuture<ResponseEntity<ApiResponse<Object>>> getAllBreeds(
             @Parameter(description = "Incluir imagens na resposta")
             @RequestParam(defaultValue = "false") boolean includeImages,
-            @Parameter(description = "Campo para ordenação")
+            @Parameter(description = "Campo para ordenação: name, origin, createdAt ou updatedAt")
             @RequestParam(defaultValue = "name") String sortBy,
             @Parameter(description = "Direção da ordenação")
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @Parameter(description = "Cursor opaco retornado em nextCursor pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página")
+            @RequestParam(required = false) @Min(1) @Max(100) Integer pageSize,
+            @Parameter(description = "Campos da raça a retornar, separados por vírgula (ex.: id,name,origin). "
+                               + "Só id, externalId, name e origin são lidos do banco; com outros campos ou includeImages "
+                               + "a raça é lida inteira e recortada na resposta")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Representação da raça: full (padrão) ou summary (id, externalId, name, origin); "
+                               + "summary lê do banco só essas colunas, exceto com includeImages")
+            @RequestParam(required = false) String view) {
         
-        logger.info("Requisição para listar todas as raças. Include images: {}, Sort: {} {}", 
-                   includeImages, sortBy, sortDirection);
+        logger.info("Requisição para listar todas as raças. Include images: {}, Sort: {} {}, Page size: {}, Fields: {}", 
+                   includeImages, sortBy, sortDirection, pageSize, fields != null ? fields : view);
         
-        GetAllBreedsQuery query = new GetAllBreedsQuery(includeImages, sortBy, sortDirection);
+        BreedFieldProjection projection;
+        CompletableFuture<Object> result;
+        try {
+            projection = BreedFieldProjection.of(fields, view);
+            GetAllBreedsQuery query = new GetAllBreedsQuery(includeImages, sortBy, sortDirection, cursor, pageSize,
+                    projection.fitsSummary());
+            result = breedQueryHandler.handle(query);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
         
-        return breedQueryHandler.handle(query)
+        return result
+                .thenApply(projection::apply)
                 .thenApply(breeds -> {
-                    List<?> list = (List<?>) breeds;
-                    String message = String.format("Lista de raças retornada com sucesso. Total: %d", list.size());
+                    String message;
+                    if (breeds instanceof CursorPage<?> page) {
+                        message = String.format("Página de raças retornada com sucesso. Itens: %d", page.items().size());
+                    } else {
+                        List<?> list = (List<?>) breeds;
+                        message = String.format("Lista de raças retornada com sucesso. Total: %d", list.size());
+                    }
                     return ResponseEntity.ok(ApiResponse.success(message, breeds));
                 })
                 .exceptionally(throwable -> {
@@ -102,31 +152,88 @@ public class QueryController {
                 });
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Buscar raças em lote", 
+               description = "Retorna várias raças numa única requisição, na ordem dos IDs enviados. "
+                           + "IDs inexistentes vêm com found=false")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lote processado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Lista de IDs vazia ou acima do limite"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public CompletableFuture<ResponseEntity<ApiResponse<Object>>> getBreedsByIds(
+            @Valid @RequestBody BatchBreedRequest request) {
+        
+        logger.info("Requisição para buscar raças em lote. IDs: {}, Include images: {}", 
+                   request.ids().size(), request.includeImages());
+        
+        GetBreedsByIdsQuery query = new GetBreedsByIdsQuery(request.ids(), request.includeImages());
+        
+        CompletableFuture<Object> result;
+        try {
+            result = breedQueryHandler.handle(query);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+        
+        return result
+                .thenApply(lookups -> {
+                    List<?> list = (List<?>) lookups;
+                    long found = list.stream().filter(lookup -> ((BreedLookup<?>) lookup).found()).count();
+                    String message = String.format("Lote de raças processado. Encontradas: %d de %d", found, list.size());
+                    return ResponseEntity.ok(ApiResponse.success(message, lookups));
+                })
+                .exceptionally(throwable -> {
+                    logger.error("Erro ao buscar raças em lote: ", throwable);
+                    return ResponseEntity.internalServerError()
+                            .body(ApiResponse.error("Erro ao buscar raças: " + throwable.getMessage()));
+                });
+    }
+
     @GetMapping("/by-temperament")
     @Operation(summary = "Buscar raças por temperamento", 
-               description = "Retorna uma lista de raças que possuem um temperamento específico")
+               description = "Retorna as raças que possuem os temperamentos informados (comparação exata por termo, "
+                           + "sem distinção de maiúsculas). Com match=ALL exige todos; com match=ANY, ao menos um")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Temperamento não informado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Temperamento não informado ou campos inválidos"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @SuppressWarnings("unchecked")
     public CompletableFuture<ResponseEntity<ApiResponse<Object>>> getBreedsByTemperament(
-            @Parameter(description = "Temperamento a ser buscado", required = true)
-            @RequestParam @NotBlank(message = "Temperamento é obrigatório") String temperament,
+            @Parameter(description = "Temperamentos a serem buscados (repetidos ou separados por vírgula)", required = true)
+            @RequestParam @NotEmpty(message = "Temperamento é obrigatório") List<String> temperament,
+            @Parameter(description = "ALL: possui todos os temperamentos; ANY: possui ao menos um")
+            @RequestParam(defaultValue = "ANY") TemperamentMatch match,
             @Parameter(description = "Incluir imagens na resposta")
-            @RequestParam(defaultValue = "false") boolean includeImages) {
+            @RequestParam(defaultValue = "false") boolean includeImages,
+            @Parameter(description = "Campos da raça a retornar, separados por vírgula (ex.: id,name,origin). "
+                               + "Só id, externalId, name e origin são lidos do banco; com outros campos ou includeImages "
+                               + "a raça é lida inteira e recortada na resposta")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Representação da raça: full (padrão) ou summary (id, externalId, name, origin); "
+                               + "summary lê do banco só essas colunas, exceto com includeImages")
+            @RequestParam(required = false) String view) {
+        
+        logger.info("Requisição para buscar raças por temperamento: {} ({}). Include images: {}", 
+                   temperament, match, includeImages);
         
-        logger.info("Requisição para buscar raças por temperamento: {}. Include images: {}", 
-                   temperament, includeImages);
+        BreedFieldProjection projection;
+        try {
+            projection = BreedFieldProjection.of(fields, view);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
         
-        GetBreedsByTemperamentQuery query = new GetBreedsByTemperamentQuery(temperament, includeImages);
+        GetBreedsByTemperamentQuery query = new GetBreedsByTemperamentQuery(temperament, match, includeImages,
+                projection.fitsSummary());
         
         return breedQueryHandler.handle(query)
+                .thenApply(projection::apply)
                 .thenApply(breeds -> {
                     List<?> list = (List<?>) breeds;
-                    String message = String.format("Raças encontradas para o temperamento '%s'. Total: %d", 
-                                                  temperament, list.size());
+                    String message = String.format("Raças encontradas para o temperamento '%s' (%s). Total: %d", 
+                                                  String.join(", ", temperament), match, list.size());
                     return ResponseEntity.ok(ApiResponse.success(message, breeds));
                 })
                 .exceptionally(throwable -> {
@@ -141,7 +248,7 @@ public class QueryController {
                description = "Retorna uma lista de raças que possuem uma origem específica")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Origem não informada"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Origem não informada ou campos inválidos"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @SuppressWarnings("unchecked")
@@ -149,14 +256,29 @@ public class QueryController {
             @Parameter(description = "Origem a ser buscada", required = true)
             @RequestParam @NotBlank(message = "Origem é obrigatória") String origin,
             @Parameter(description = "Incluir imagens na resposta")
-            @RequestParam(defaultValue = "false") boolean includeImages) {
+            @RequestParam(defaultValue = "false") boolean includeImages,
+            @Parameter(description = "Campos da raça a retornar, separados por vírgula (ex.: id,name,origin). "
+                               + "Só id, externalId, name e origin são lidos do banco; com outros campos ou includeImages "
+                               + "a raça é lida inteira e recortada na resposta")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Representação da raça: full (padrão) ou summary (id, externalId, name, origin); "
+                               + "summary lê do banco só essas colunas, exceto com includeImages")
+            @RequestParam(required = false) String view) {
         
         logger.info("Requisição para buscar raças por origem: {}. Include images: {}", 
                    origin, includeImages);
         
-        GetBreedsByOriginQuery query = new GetBreedsByOriginQuery(origin, includeImages);
+        BreedFieldProjection projection;
+        try {
+            projection = BreedFieldProjection.of(fields, view);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+        
+        GetBreedsByOriginQuery query = new GetBreedsByOriginQuery(origin, includeImages, projection.fitsSummary());
         
         return breedQueryHandler.handle(query)
+                .thenApply(projection::apply)
                 .thenApply(breeds -> {
                     List<?> list = (List<?>) breeds;
                     String message = String.format("Raças encontradas para a origem '%s'. Total: %d", 
@@ -169,4 +291,95 @@ public class QueryController {
                             .body(ApiResponse.error("Erro ao buscar raças por origem: " + throwable.getMessage()));
                 });
     }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar raças por texto", 
+               description = "Busca ranqueada por relevância em nome, origem, temperamento e descrição, "
+                           + "com tolerância a erros de digitação")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Resultados retornados com sucesso"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Texto de busca ou campos inválidos"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<ResponseEntity<ApiResponse<Object>>> searchBreeds(
+            @Parameter(description = "Texto a ser buscado", required = true)
+            @RequestParam @NotBlank(message = "Texto de busca é obrigatório")
+            @Size(max = 200, message = "Texto de busca deve ter no máximo 200 caracteres") String q,
+            @Parameter(description = "Número máximo de resultados")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit,
+            @Parameter(description = "Campos da raça a retornar, separados por vírgula (ex.: id,name,origin). "
+                               + "Só id, externalId, name e origin são lidos do banco; com outros campos ou includeImages "
+                               + "a raça é lida inteira e recortada na resposta")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Representação da raça: full (padrão) ou summary (id, externalId, name, origin); "
+                               + "summary lê do banco só essas colunas, exceto com includeImages")
+            @RequestParam(required = false) String view) {
+        
+        logger.info("Requisição para buscar raças por texto: '{}'. Limite: {}", q, limit);
+        
+        BreedFieldProjection projection;
+        try {
+            projection = BreedFieldProjection.of(fields, view);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+        
+        SearchBreedsQuery query = new SearchBreedsQuery(q, limit, projection.fitsSummary());
+        
+        return breedQueryHandler.handle(query)
+                .thenApply(projection::apply)
+                .thenApply(hits -> {
+                    List<?> list = (List<?>) hits;
+                    String message = String.format("Resultados da busca por '%s'. Total: %d", q, list.size());
+                    return ResponseEntity.ok(ApiResponse.success(message, hits));
+                })
+                .exceptionally(throwable -> {
+                    logger.error("Erro ao buscar raças por texto '{}': ", q, throwable);
+                    return ResponseEntity.internalServerError()
+                            .body(ApiResponse.error("Erro ao buscar raças: " + throwable.getMessage()));
+                });
+    }
+
+    private static CompletableFuture<ResponseEntity<ApiResponse<Object>>> badRequest(IllegalArgumentException e) {
+        logger.warn("Parâmetros inválidos na consulta de raças: {}", e.getMessage());
+        return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage())));
+    }
+
+    // Escrita síncrona direto na resposta: sem timeout de requisição assíncrona e com memória constante
+    @GetMapping("/export")
+    @Operation(summary = "Exportar catálogo em NDJSON", 
+               description = "Transmite todas as raças com suas imagens, uma raça por linha (application/x-ndjson). "
+                           + "Compactado com gzip quando o cliente envia Accept-Encoding: gzip")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Exportação transmitida com sucesso"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public void exportBreeds(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        logger.info("Requisição para exportar o catálogo em NDJSON. Gzip: {}", gzip);
+
+        response.setContentType(NDJSON.toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"breeds.ndjson\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            // syncFlush: cada flush do gerador chega ao cliente sem esperar o fim do stream
+            out = new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true);
+        }
+
+        try (OutputStream body = out) {
+            catalogExportService.exportBreedsWithImages(body);
+        } catch (IOException e) {
+            // normalmente o cliente desconectou; a transação/cursor já foram encerrados
+            logger.warn("Exportação NDJSON interrompida: {}", e.getMessage());
+        }
+    }
 }
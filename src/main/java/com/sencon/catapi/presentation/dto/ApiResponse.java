@@ -5,12 +5,14 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import java.time.LocalDateTime;
 
 public class ApiResponse<T> {
+
+    public static final String TIMESTAMP_PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
     
     private boolean success;
     private String message;
     private T data;
     
-    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @JsonFormat(pattern = TIMESTAMP_PATTERN)
     private LocalDateTime timestamp;
     
     public ApiResponse() {
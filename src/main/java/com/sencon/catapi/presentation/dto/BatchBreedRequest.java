@@ -0,0 +1,14 @@
+package com.sencon.catapi.presentation.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchBreedRequest(
+    @NotEmpty(message = "Lista de IDs é obrigatória")
+    List<@NotNull(message = "ID da raça não pode ser nulo") UUID> ids,
+    
+    boolean includeImages
+) {}
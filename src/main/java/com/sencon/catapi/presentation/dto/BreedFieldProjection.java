@@ -0,0 +1,197 @@
+package com.sencon.catapi.presentation.dto;
+
+import com.sencon.catapi.application.query.dto.CursorPage;
+import com.sencon.catapi.application.query.service.BreedQueryService.BreedSearchHit;
+import com.sencon.catapi.application.query.service.BreedQueryService.BreedSummarySearchHit;
+import com.sencon.catapi.application.query.service.BreedQueryService.BreedWithImages;
+import com.sencon.catapi.domain.model.BreedSummary;
+import com.sencon.catapi.domain.model.CatBreed;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Seleção de campos das raças nas respostas de listagem (parâmetros fields e view).
+ * As chaves seguem o snake_case do ObjectMapper; campos fora da seleção não são serializados.
+ */
+public final class BreedFieldProjection {
+
+    public static final String VIEW_FULL = "full";
+    public static final String VIEW_SUMMARY = "summary";
+    public static final String VIEW_FIELDS = "fields";
+
+    private static final Map<String, String> FIELD_KEYS = Map.ofEntries(
+            Map.entry("id", "id"),
+            Map.entry("externalid", "external_id"),
+            Map.entry("external_id", "external_id"),
+            Map.entry("name", "name"),
+            Map.entry("origin", "origin"),
+            Map.entry("temperament", "temperament"),
+            Map.entry("description", "description"),
+            Map.entry("createdat", "created_at"),
+            Map.entry("created_at", "created_at"),
+            Map.entry("updatedat", "updated_at"),
+            Map.entry("updated_at", "updated_at"));
+
+    private static final List<String> KEY_ORDER = List.of(
+            "id", "external_id", "name", "origin", "temperament", "description", "created_at", "updated_at");
+
+    private static final Set<String> SUMMARY_KEYS = Set.of("id", "external_id", "name", "origin");
+
+    private static final BreedFieldProjection FULL = new BreedFieldProjection(null, VIEW_FULL);
+
+    private final Set<String> keys;
+    private final List<String> orderedKeys;
+    private final String view;
+
+    private BreedFieldProjection(Set<String> keys, String view) {
+        this.keys = keys;
+        this.orderedKeys = keys != null ? KEY_ORDER.stream().filter(keys::contains).toList() : List.of();
+        this.view = view;
+    }
+
+    /**
+     * @param fields lista separada por vírgula; tem precedência sobre view
+     * @param view full (padrão) ou summary
+     * @throws IllegalArgumentException para campo ou view desconhecidos
+     */
+    public static BreedFieldProjection of(String fields, String view) {
+        if (fields != null && !fields.isBlank()) {
+            Set<String> keys = new LinkedHashSet<>();
+            for (String field : fields.split(",")) {
+                String normalized = field.trim().toLowerCase(Locale.ROOT);
+                if (normalized.isEmpty()) {
+                    continue;
+                }
+                String key = FIELD_KEYS.get(normalized);
+                if (key == null) {
+                    throw new IllegalArgumentException("Campo não suportado: " + field.trim()
+                            + ". Valores aceitos: id, externalId, name, origin, temperament, description, createdAt, updatedAt");
+                }
+                keys.add(key);
+            }
+            return keys.isEmpty() ? FULL : new BreedFieldProjection(Set.copyOf(keys), VIEW_FIELDS);
+        }
+
+        if (view == null || view.isBlank() || VIEW_FULL.equalsIgnoreCase(view)) {
+            return FULL;
+        }
+        if (VIEW_SUMMARY.equalsIgnoreCase(view)) {
+            return new BreedFieldProjection(SUMMARY_KEYS, VIEW_SUMMARY);
+        }
+        throw new IllegalArgumentException("View não suportada: " + view + ". Valores aceitos: full, summary");
+    }
+
+    /**
+     * Rótulo de cardinalidade fixa para métricas: full, summary ou fields.
+     */
+    public static String viewLabel(String fields, String view) {
+        if (fields != null && !fields.isBlank()) {
+            return VIEW_FIELDS;
+        }
+        return VIEW_SUMMARY.equalsIgnoreCase(view) ? VIEW_SUMMARY : VIEW_FULL;
+    }
+
+    public boolean isFull() {
+        return keys == null;
+    }
+
+    /**
+     * Indica se a seleção cabe em {@link BreedSummary}, permitindo a consulta por projeção no banco.
+     */
+    public boolean fitsSummary() {
+        return keys != null && SUMMARY_KEYS.containsAll(keys);
+    }
+
+    public String view() {
+        return view;
+    }
+
+    public Object apply(Object body) {
+        if (isFull()) {
+            return body;
+        }
+        if (body instanceof CursorPage<?> page) {
+            return new CursorPage<>(applyToList(page.items()), page.pageSize(), page.hasNext(), page.nextCursor());
+        }
+        if (body instanceof List<?> list) {
+            return applyToList(list);
+        }
+        return applyToItem(body);
+    }
+
+    private List<Object> applyToList(List<?> items) {
+        return items.stream().map(this::applyToItem).toList();
+    }
+
+    private Object applyToItem(Object item) {
+        if (item instanceof CatBreed breed) {
+            return project(breed);
+        }
+        if (item instanceof BreedSummary summary) {
+            return keys.equals(SUMMARY_KEYS) ? summary : project(summary);
+        }
+        if (item instanceof BreedWithImages withImages) {
+            Map<String, Object> projected = new LinkedHashMap<>();
+            projected.put("breed", project(withImages.getBreed()));
+            projected.put("images", withImages.getImages());
+            return projected;
+        }
+        if (item instanceof BreedSearchHit hit) {
+            Map<String, Object> projected = new LinkedHashMap<>();
+            projected.put("breed", project(hit.getBreed()));
+            projected.put("score", hit.getScore());
+            return projected;
+        }
+        if (item instanceof BreedSummarySearchHit hit) {
+            Map<String, Object> projected = new LinkedHashMap<>();
+            projected.put("breed", keys.equals(SUMMARY_KEYS) ? hit.breed() : project(hit.breed()));
+            projected.put("score", hit.score());
+            return projected;
+        }
+        return item;
+    }
+
+    private Map<String, Object> project(CatBreed breed) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String key : orderedKeys) {
+            projected.put(key, switch (key) {
+                case "id" -> breed.getId();
+                case "external_id" -> breed.getExternalId();
+                case "name" -> breed.getName();
+                case "origin" -> breed.getOrigin();
+                case "temperament" -> breed.getTemperament();
+                case "description" -> breed.getDescription();
+                case "created_at" -> breed.getCreatedAt();
+                case "updated_at" -> breed.getUpdatedAt();
+                default -> throw new IllegalStateException("Campo sem mapeamento: " + key);
+            });
+        }
+        return projected;
+    }
+
+    // Só alcançado quando fitsSummary(): as chaves pedidas existem no resumo
+    private Map<String, Object> project(BreedSummary summary) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String key : orderedKeys) {
+            projected.put(key, switch (key) {
+                case "id" -> summary.id();
+                case "external_id" -> summary.externalId();
+                case "name" -> summary.name();
+                case "origin" -> summary.origin();
+                default -> throw new IllegalStateException("Campo fora do resumo: " + key);
+            });
+        }
+        return projected;
+    }
+
+    @Override
+    public String toString() {
+        return isFull() ? VIEW_FULL : keys.stream().sorted().collect(Collectors.joining(","));
+    }
+}
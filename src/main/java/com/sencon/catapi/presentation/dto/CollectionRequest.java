@@ -68,4 +68,10 @@ public class CollectionRequest {
     public void setSpecialImagesCount(int specialImagesCount) {
         this.specialImagesCount = specialImagesCount;
     }
+
+    @Override
+    public String toString() {
+        return String.format("forceUpdate=%s, collectBreedImages=%s, collectHatImages=%s, collectSunglassesImages=%s, imagesPerBreed=%d, specialImagesCount=%d",
+                forceUpdate, collectBreedImages, collectHatImages, collectSunglassesImages, imagesPerBreed, specialImagesCount);
+    }
 }
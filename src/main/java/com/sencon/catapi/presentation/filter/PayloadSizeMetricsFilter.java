@@ -0,0 +1,154 @@
+package com.sencon.catapi.presentation.filter;
+
+import com.sencon.catapi.presentation.dto.BreedFieldProjection;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Registra o tamanho do corpo das respostas de /api/breeds em catapi.response.payload, por rota e
+ * representação (full, summary, fields). Conta os bytes conforme são escritos, sem bufferizar a resposta.
+ * Fica por fora do {@link ResponseBytesCacheFilter} para medir também as respostas servidas pelo cache.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class PayloadSizeMetricsFilter extends OncePerRequestFilter {
+
+    private static final String PATH_PREFIX = "/api/breeds";
+
+    private final MeterRegistry meterRegistry;
+
+    public PayloadSizeMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CountingResponse countingResponse = new CountingResponse(response);
+        try {
+            chain.doFilter(request, countingResponse);
+        } finally {
+            // Endpoints com CompletableFuture terminam no dispatch assíncrono, que reaproveita o mesmo wrapper
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, countingResponse);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, countingResponse);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        DistributionSummary.builder("catapi.response.payload")
+                .description("Tamanho do corpo das respostas de consulta de raças")
+                .baseUnit("bytes")
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .tag("view", BreedFieldProjection.viewLabel(request.getParameter("fields"), request.getParameter("view")))
+                .tag("status", String.valueOf(response.getStatus()))
+                .register(meterRegistry)
+                .record(response.bytesWritten());
+    }
+
+    // Conta só o que passa por getOutputStream(), usado pelos conversores de mensagem e pela exportação
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private CountingOutputStream outputStream;
+
+        private CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        long bytesWritten() {
+            return outputStream != null ? outputStream.count : 0L;
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private volatile long count;
+
+        private CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.sencon.catapi.presentation.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sencon.catapi.application.query.readmodel.CatalogReadModel;
+import com.sencon.catapi.presentation.dto.ApiResponse;
+import com.sencon.catapi.presentation.interceptor.DatasetETagInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache dos bytes finais das respostas GET de /api/breeds, já serializados e também compactados em gzip.
+ * Um acerto escreve os bytes direto na resposta, sem passar pelo DispatcherServlet nem pelo Jackson.
+ * A chave inclui a versão do catálogo; quando o snapshot muda de versão o cache inteiro é descartado.
+ * <p>
+ * O {@code timestamp} do {@link ApiResponse} é reescrito a cada acerto. Para isso o gzip guardado cobre só o corpo
+ * até o timestamp, e o trecho final vai num segundo membro gzip montado na hora (RFC 1952 permite membros concatenados).
+ * A variante gzip sai com ETag próprio ({@link DatasetETagInterceptor#gzipEtag}).
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ResponseBytesCacheFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseBytesCacheFilter.class);
+
+    private static final String PATH_PREFIX = "/api/breeds";
+    private static final String EXPORT_PATH = "/api/breeds/export";
+    private static final String KEY_ATTRIBUTE = ResponseBytesCacheFilter.class.getName() + ".KEY";
+    private static final int MIN_GZIP_BYTES = 1024;
+    private static final byte[] TIMESTAMP_FIELD = "\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESPONSE_END = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern(ApiResponse.TIMESTAMP_PATTERN);
+    private static final int TIMESTAMP_LENGTH = TIMESTAMP_FORMAT.format(LocalDateTime.of(2000, 1, 1, 0, 0)).length();
+
+    private final CatalogReadModel readModel;
+    private final boolean enabled;
+    private final long maxEntryBytes;
+    private final Cache<String, CachedResponse> cache;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypassed;
+    private volatile long cachedVersion = -1;
+
+    public ResponseBytesCacheFilter(CatalogReadModel readModel,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${cat.api.response-cache.enabled:true}") boolean enabled,
+                                    @Value("${cat.api.response-cache.max-size:64MB}") DataSize maxSize,
+                                    @Value("${cat.api.response-cache.max-entry-size:8MB}") DataSize maxEntrySize) {
+        this.readModel = readModel;
+        this.enabled = enabled;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResponse entry) -> entry.weight())
+                .build();
+
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.bypassed = requestCounter(meterRegistry, "bypass");
+        Gauge.builder("catapi.response_cache.size", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .description("Bytes ocupados pelo cache de respostas serializadas")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !enabled
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !uri.startsWith(PATH_PREFIX)
+                || uri.equals(EXPORT_PATH);
+    }
+
+    // Os endpoints com CompletableFuture escrevem o corpo no dispatch assíncrono
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                complete(request, WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class));
+            }
+            return;
+        }
+
+        Optional<Long> version = readModel.current().map(snapshot -> snapshot.datasetVersion().version());
+        if (version.isEmpty()) {
+            bypassed.increment();
+            chain.doFilter(request, response);
+            return;
+        }
+        invalidateIfVersionChanged(version.get());
+
+        String key = cacheKey(request, version.get());
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            serveHit(cached, request, response);
+            return;
+        }
+
+        misses.increment();
+        request.setAttribute(KEY_ATTRIBUTE, key);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            complete(request, wrapper);
+        }
+    }
+
+    private void complete(HttpServletRequest request, ContentCachingResponseWrapper wrapper) throws IOException {
+        if (wrapper == null || isAsyncStarted(request)) {
+            return;
+        }
+
+        String key = (String) request.getAttribute(KEY_ATTRIBUTE);
+        byte[] body = wrapper.getContentAsByteArray();
+        if (key == null || wrapper.getStatus() != HttpStatus.OK.value() || !isJson(wrapper.getContentType())
+                || body.length == 0 || body.length > maxEntryBytes) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        int timestampOffset = timestampOffset(body);
+        byte[] gzipped = null;
+        if (body.length >= MIN_GZIP_BYTES) {
+            gzipped = gzip(timestampOffset >= 0 ? Arrays.copyOf(body, timestampOffset) : body, Deflater.BEST_COMPRESSION);
+        }
+        CachedResponse entry = new CachedResponse(
+                body,
+                timestampOffset,
+                gzipped,
+                wrapper.getContentType(),
+                wrapper.getHeader(HttpHeaders.ETAG),
+                lastModified(wrapper),
+                wrapper.getHeader(HttpHeaders.CACHE_CONTROL),
+                (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        cache.put(key, entry);
+
+        // Cabeçalhos já foram repassados pelo wrapper; só o corpo fica por nossa conta
+        writeBody(entry, request, (HttpServletResponse) wrapper.getResponse());
+    }
+
+    private void serveHit(CachedResponse cached, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (cached.pattern() != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, cached.pattern());
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.contentType());
+        if (cached.cacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cached.cacheControl());
+        }
+
+        if (cached.etag() != null) {
+            String validator = DatasetETagInterceptor.presentedEtag(request, cached.etag()).orElse(cached.etag());
+            if (new ServletWebRequest(request, response).checkNotModified(validator, cached.lastModified())) {
+                return;
+            }
+        }
+        writeBody(cached, request, response);
+    }
+
+    private static void writeBody(CachedResponse entry, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] identity = entry.identity();
+        int offset = entry.timestampOffset();
+        byte[] timestamp = offset >= 0
+                ? TIMESTAMP_FORMAT.format(LocalDateTime.now()).getBytes(StandardCharsets.UTF_8)
+                : null;
+
+        if (entry.gzip() != null && acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            if (entry.etag() != null) {
+                response.setHeader(HttpHeaders.ETAG, DatasetETagInterceptor.gzipEtag(entry.etag()));
+            }
+            byte[] tail = new byte[0];
+            if (timestamp != null) {
+                ByteArrayOutputStream end = new ByteArrayOutputStream(timestamp.length + RESPONSE_END.length);
+                end.writeBytes(timestamp);
+                end.write(identity, offset + TIMESTAMP_LENGTH, identity.length - offset - TIMESTAMP_LENGTH);
+                tail = gzip(end.toByteArray(), Deflater.DEFAULT_COMPRESSION);
+            }
+            response.setContentLength(entry.gzip().length + tail.length);
+            response.getOutputStream().write(entry.gzip());
+            response.getOutputStream().write(tail);
+            return;
+        }
+
+        if (entry.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, entry.etag());
+        }
+        response.setContentLength(identity.length);
+        if (timestamp == null) {
+            response.getOutputStream().write(identity);
+            return;
+        }
+        response.getOutputStream().write(identity, 0, offset);
+        response.getOutputStream().write(timestamp);
+        response.getOutputStream().write(identity, offset + TIMESTAMP_LENGTH, identity.length - offset - TIMESTAMP_LENGTH);
+    }
+
+    // Posição do valor do timestamp do ApiResponse, último campo do corpo; -1 se o corpo não termina com ele
+    static int timestampOffset(byte[] body) {
+        int offset = body.length - RESPONSE_END.length - TIMESTAMP_LENGTH;
+        int fieldStart = offset - TIMESTAMP_FIELD.length;
+        if (fieldStart < 0
+                || !Arrays.equals(body, fieldStart, offset, TIMESTAMP_FIELD, 0, TIMESTAMP_FIELD.length)
+                || !Arrays.equals(body, body.length - RESPONSE_END.length, body.length, RESPONSE_END, 0, RESPONSE_END.length)) {
+            return -1;
+        }
+        return offset;
+    }
+
+    private void invalidateIfVersionChanged(long version) {
+        if (version != cachedVersion) {
+            synchronized (this) {
+                if (version != cachedVersion) {
+                    if (cachedVersion != -1) {
+                        logger.debug("Versão do catálogo mudou de {} para {}; descartando cache de respostas", cachedVersion, version);
+                    }
+                    cache.invalidateAll();
+                    cachedVersion = version;
+                }
+            }
+        }
+    }
+
+    // Parâmetros ordenados: ?a=1&b=2 e ?b=2&a=1 compartilham a entrada
+    private static String cacheKey(HttpServletRequest request, long version) {
+        StringBuilder key = new StringBuilder().append(version).append(' ').append(request.getRequestURI());
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator).append(parameter.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    private static long lastModified(HttpServletResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        String lastModified = response.getHeader(HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) {
+            headers.set(HttpHeaders.LAST_MODIFIED, lastModified);
+        }
+        return headers.getLastModified();
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    // O corpo é compactado uma vez por entrada e servido muitas vezes: vale o nível máximo
+    private static byte[] gzip(byte[] body, int level) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(32, body.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("catapi.response_cache.requests")
+                .description("Requisições ao cache de respostas serializadas")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CachedResponse(byte[] identity, int timestampOffset, byte[] gzip, String contentType, String etag,
+                                  long lastModified, String cacheControl, String pattern) {
+
+        int weight() {
+            return identity.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.sencon.catapi.presentation.interceptor;
+
+import com.sencon.catapi.application.query.readmodel.CatalogReadModel;
+import com.sencon.catapi.application.query.readmodel.CatalogSnapshot;
+import com.sencon.catapi.domain.model.DatasetVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * GET condicional nas consultas de raças. ETag e Last-Modified vêm da versão do catálogo carregada no
+ * snapshot em memória; um If-None-Match/If-Modified-Since válido recebe 304 antes do controller, sem
+ * acessar cache, banco ou serialização.
+ * <p>
+ * O corpo compactado em gzip pelo {@link com.sencon.catapi.presentation.filter.ResponseBytesCacheFilter} sai com
+ * a variante {@code "v<versão>-gzip"} do ETag; as duas formas são aceitas em If-None-Match.
+ */
+@Component
+public class DatasetETagInterceptor implements HandlerInterceptor {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().getHeaderValue();
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private final CatalogReadModel readModel;
+    private final Counter notModified;
+    private final Counter modified;
+
+    public DatasetETagInterceptor(CatalogReadModel readModel, MeterRegistry meterRegistry) {
+        this.readModel = readModel;
+        this.notModified = Counter.builder("catapi.http.conditional")
+                .description("Requisições condicionais às consultas de raças")
+                .tag("result", "not_modified")
+                .register(meterRegistry);
+        this.modified = Counter.builder("catapi.http.conditional")
+                .description("Requisições condicionais às consultas de raças")
+                .tag("result", "modified")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // O dispatch assíncrono dos endpoints com CompletableFuture já passou por aqui
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+
+        // Sem snapshot as consultas vão ao banco e não há versão confiável para validar
+        Optional<DatasetVersion> version = readModel.current().map(CatalogSnapshot::datasetVersion);
+        if (version.isEmpty()) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        String etag = etag(version.get().version());
+        boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+
+        String validator = presentedEtag(request, etag).orElse(etag);
+        if (new ServletWebRequest(request, response).checkNotModified(validator, version.get().updatedAt().toEpochMilli())) {
+            notModified.increment();
+            return false;
+        }
+        if (conditional) {
+            modified.increment();
+        }
+        return true;
+    }
+
+    public static String etag(long version) {
+        return "\"v" + version + "\"";
+    }
+
+    public static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    /**
+     * A forma do ETag (original ou gzip) que o cliente apresenta em If-None-Match, se alguma delas.
+     */
+    public static Optional<String> presentedEtag(HttpServletRequest request, String etag) {
+        String gzipEtag = gzipEtag(etag);
+        for (String header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+            for (String token : header.split(",")) {
+                String candidate = token.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals(etag) || candidate.equals(gzipEtag)) {
+                    return Optional.of(candidate);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,83 @@
+package com.sencon.catapi.application.query.dto;
+
+import com.sencon.catapi.domain.enums.BreedSortField;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BreedPageCursorTest {
+
+    private static final UUID LAST_ID = UUID.fromString("7f1c1e8a-3b0e-4c44-9a57-3d2f4a1b9c10");
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        BreedPageCursor cursor = new BreedPageCursor(BreedSortField.CREATED_AT, Sort.Direction.DESC,
+                "2024-05-01 10:15:30.123+00", LAST_ID);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(BreedPageCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void sortKeyKeepsSeparatorsAndNonAsciiCharacters() {
+        BreedPageCursor cursor = new BreedPageCursor(BreedSortField.ORIGIN, Sort.Direction.ASC, "Côte d'Ivoire\u001Fx", LAST_ID);
+
+        assertThat(BreedPageCursor.decode(cursor.encode()).sortKey()).isEqualTo("Côte d'Ivoire\u001Fx");
+    }
+
+    @Test
+    void emptySortKeyRoundTrips() {
+        BreedPageCursor cursor = new BreedPageCursor(BreedSortField.ORIGIN, Sort.Direction.ASC, "", LAST_ID);
+
+        assertThat(BreedPageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void decodeForSameSortAcceptsCursor() {
+        BreedPageCursor cursor = new BreedPageCursor(BreedSortField.NAME, Sort.Direction.ASC, "Bengal", LAST_ID);
+
+        assertThat(BreedPageCursor.decode(cursor.encode(), BreedSortField.NAME, Sort.Direction.ASC)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decodeRejectsCursorFromAnotherSortField() {
+        String encoded = new BreedPageCursor(BreedSortField.NAME, Sort.Direction.ASC, "Bengal", LAST_ID).encode();
+
+        assertThatThrownBy(() -> BreedPageCursor.decode(encoded, BreedSortField.ORIGIN, Sort.Direction.ASC))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor gerado para outra ordenação");
+    }
+
+    @Test
+    void decodeRejectsCursorFromAnotherDirection() {
+        String encoded = new BreedPageCursor(BreedSortField.NAME, Sort.Direction.ASC, "Bengal", LAST_ID).encode();
+
+        assertThatThrownBy(() -> BreedPageCursor.decode(encoded, BreedSortField.NAME, Sort.Direction.DESC))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor gerado para outra ordenação");
+    }
+
+    @Test
+    void decodeRejectsMalformedCursors() {
+        String missingParts = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("NAME\u001FASC").getBytes(StandardCharsets.UTF_8));
+        String unknownField = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("WEIGHT\u001FASC\u001F" + LAST_ID + "\u001Fx").getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("NAME\u001FASC\u001Fnot-a-uuid\u001Fx").getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[] {"%%%", missingParts, unknownField, badId}) {
+            assertThatThrownBy(() -> BreedPageCursor.decode(cursor))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Cursor inválido");
+        }
+    }
+}
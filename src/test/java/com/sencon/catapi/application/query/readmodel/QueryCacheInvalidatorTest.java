@@ -0,0 +1,123 @@
+package com.sencon.catapi.application.query.readmodel;
+
+import com.sencon.catapi.application.query.readmodel.QueryCacheInvalidator.AffectedKeys;
+import com.sencon.catapi.domain.event.BreedsChangedEvent.BreedChange;
+import com.sencon.catapi.domain.model.CatBreed;
+import com.sencon.catapi.domain.model.DatasetVersion;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCacheInvalidatorTest {
+
+    private static final UUID BENGAL_ID = UUID.fromString("7f1c1e8a-3b0e-4c44-9a57-3d2f4a1b9c10");
+    private static final UUID SIAMESE_ID = UUID.fromString("0b6f7a2e-91d4-4c1b-8e0a-5a3c2d1e4f60");
+    private static final UUID OTHER_ID = UUID.fromString("c3d2e1f0-1111-4222-8333-944455556666");
+
+    // Antes da coleta a Bengal vinha do Egito e era calma; a coleta a mudou para Estados Unidos, ágil e alerta
+    private final CatalogSnapshot before = snapshot(
+            breed(BENGAL_ID, "Bengal", "Egypt", "Calm"),
+            breed(SIAMESE_ID, "Siamese", "Thailand", "Playful, Vocal"));
+    private final CatalogSnapshot after = snapshot(
+            breed(BENGAL_ID, "Bengal", "United States", "Alert, Agile"),
+            breed(SIAMESE_ID, "Siamese", "Thailand", "Playful, Vocal"));
+
+    private final AffectedKeys breedChanged = AffectedKeys.of(
+            List.of(new BreedChange(BENGAL_ID, "United States", "Alert, Agile", false)), Set.of(), before, after);
+    private final AffectedKeys imagesAdded = AffectedKeys.of(List.of(), Set.of(SIAMESE_ID), before, after);
+
+    @Test
+    void changedBreedMatchesOldAndNewOrigins() {
+        assertThat(breedChanged.matches("queries", "origin-united")).isTrue();
+        assertThat(breedChanged.matches("queries", "origin-Egypt")).isTrue();
+        assertThat(breedChanged.matches("queries", "origin-with-images-egy")).isTrue();
+        assertThat(breedChanged.matches("queries", "origin-thailand")).isFalse();
+        assertThat(breedChanged.matches("queries", "origin-with-images-thailand")).isFalse();
+    }
+
+    @Test
+    void summaryListingsFollowTheirFilters() {
+        assertThat(breedChanged.matches("queries", "origin-summary-egypt")).isTrue();
+        assertThat(breedChanged.matches("queries", "origin-summary-thailand")).isFalse();
+        assertThat(breedChanged.matches("queries", "temperament-summary-ANY-[calm]")).isTrue();
+        assertThat(breedChanged.matches("queries", "temperament-summary-ANY-[vocal]")).isFalse();
+        assertThat(breedChanged.matches("queries", "search-summary-10-siam")).isTrue();
+
+        assertThat(imagesAdded.matches("queries", "origin-summary-thai")).isFalse();
+        assertThat(imagesAdded.matches("queries", "temperament-summary-ANY-[vocal]")).isFalse();
+        assertThat(imagesAdded.matches("queries", "search-summary-10-siam")).isFalse();
+    }
+
+    @Test
+    void changedBreedMatchesOldAndNewTemperaments() {
+        assertThat(breedChanged.matches("queries", "temperament-ANY-[agile]")).isTrue();
+        assertThat(breedChanged.matches("queries", "temperament-ALL-[calm, lazy]")).isTrue();
+        assertThat(breedChanged.matches("queries", "temperament-with-images-ANY-[alert]")).isTrue();
+        assertThat(breedChanged.matches("queries", "temperament-ANY-[playful, vocal]")).isFalse();
+        assertThat(breedChanged.matches("queries", "temperament-with-images-ANY-[vocal]")).isFalse();
+    }
+
+    @Test
+    void changedBreedMatchesSearchesAndItsOwnKeys() {
+        assertThat(breedChanged.matches("queries", "search-10-siam")).isTrue();
+        assertThat(breedChanged.matches("breeds", BENGAL_ID.toString())).isTrue();
+        assertThat(breedChanged.matches("breeds", "breed-with-images-" + BENGAL_ID)).isTrue();
+        assertThat(breedChanged.matches("breeds", "all-breeds-NAME-ASC")).isTrue();
+        assertThat(breedChanged.matches("breeds", "all-breed-summaries-NAME-ASC")).isTrue();
+        assertThat(breedChanged.matches("breeds", "all-breeds-with-images-NAME-ASC")).isTrue();
+        assertThat(breedChanged.matches("breeds", SIAMESE_ID.toString())).isFalse();
+        assertThat(breedChanged.matches("breeds", "breed-with-images-" + SIAMESE_ID)).isFalse();
+    }
+
+    @Test
+    void newImagesMatchOnlyListingsWithImages() {
+        assertThat(imagesAdded.matches("queries", "origin-with-images-thai")).isTrue();
+        assertThat(imagesAdded.matches("queries", "temperament-with-images-ANY-[vocal]")).isTrue();
+        assertThat(imagesAdded.matches("breeds", "breed-with-images-" + SIAMESE_ID)).isTrue();
+        assertThat(imagesAdded.matches("breeds", "all-breeds-with-images-NAME-ASC")).isTrue();
+
+        assertThat(imagesAdded.matches("queries", "origin-thai")).isFalse();
+        assertThat(imagesAdded.matches("queries", "temperament-ANY-[vocal]")).isFalse();
+        assertThat(imagesAdded.matches("queries", "origin-with-images-egypt")).isFalse();
+        assertThat(imagesAdded.matches("queries", "search-10-siam")).isFalse();
+        assertThat(imagesAdded.matches("breeds", SIAMESE_ID.toString())).isFalse();
+        assertThat(imagesAdded.matches("breeds", "all-breeds-NAME-ASC")).isFalse();
+        assertThat(imagesAdded.matches("breeds", "breed-with-images-" + BENGAL_ID)).isFalse();
+    }
+
+    @Test
+    void breedMissingFromPreviousSnapshotMatchesEveryFilteredListing() {
+        AffectedKeys unknown = AffectedKeys.of(
+                List.of(new BreedChange(OTHER_ID, "Norway", "Gentle", false)), Set.of(), before, after);
+
+        assertThat(unknown.matches("queries", "origin-thailand")).isTrue();
+        assertThat(unknown.matches("queries", "temperament-ANY-[vocal]")).isTrue();
+    }
+
+    @Test
+    void createdBreedMatchesOnlyItsNewValues() {
+        AffectedKeys created = AffectedKeys.of(
+                List.of(new BreedChange(OTHER_ID, "Norway", "Gentle", true)), Set.of(), before, after);
+
+        assertThat(created.matches("queries", "origin-norway")).isTrue();
+        assertThat(created.matches("queries", "temperament-ANY-[gentle]")).isTrue();
+        assertThat(created.matches("queries", "origin-thailand")).isFalse();
+        assertThat(created.matches("queries", "temperament-ANY-[vocal]")).isFalse();
+    }
+
+    private static CatBreed breed(UUID id, String name, String origin, String temperament) {
+        CatBreed breed = new CatBreed(name.substring(0, 4).toLowerCase(), name, origin, temperament, null);
+        breed.setId(id);
+        return breed;
+    }
+
+    private static CatalogSnapshot snapshot(CatBreed... breeds) {
+        return CatalogSnapshot.of(List.of(breeds), Map.of(), new DatasetVersion(1, Instant.now()));
+    }
+}
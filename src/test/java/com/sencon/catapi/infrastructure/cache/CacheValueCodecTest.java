@@ -0,0 +1,86 @@
+package com.sencon.catapi.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sencon.catapi.domain.model.BreedSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheValueCodecTest {
+
+    private static final BreedSummary BENGAL = new BreedSummary(
+            UUID.fromString("7f1c1e8a-3b0e-4c44-9a57-3d2f4a1b9c10"), "beng", "Bengal", "United States");
+    private static final BreedSummary SIAMESE = new BreedSummary(
+            UUID.fromString("0b6f7a2e-91d4-4c1b-8e0a-5a3c2d1e4f60"), "siam", "Siamese", "Thailand");
+
+    private final CacheValueCodec codec = new CacheValueCodec();
+
+    @Test
+    void nullRoundTrips() {
+        assertThat(codec.decode(codec.encode(null))).isNull();
+    }
+
+    @Test
+    void emptyOptionalDecodesAsNull() {
+        assertThat(codec.decode(codec.encode(Optional.empty()))).isNull();
+    }
+
+    @Test
+    void valueRoundTrips() {
+        assertThat(codec.decode(codec.encode(BENGAL))).isEqualTo(BENGAL);
+    }
+
+    @Test
+    void listRoundTrips() {
+        assertThat(codec.decode(codec.encode(List.of(BENGAL, SIAMESE)))).isEqualTo(List.of(BENGAL, SIAMESE));
+    }
+
+    @Test
+    void emptyListRoundTrips() {
+        assertThat(codec.decode(codec.encode(List.of()))).isEqualTo(List.of());
+    }
+
+    @Test
+    void optionalRoundTrips() {
+        assertThat(codec.decode(codec.encode(Optional.of(SIAMESE)))).isEqualTo(Optional.of(SIAMESE));
+    }
+
+    @Test
+    void encodeRejectsClassesOutsideTheApplication() {
+        for (Object value : new Object[] {"Bengal", new Date(), List.of(UUID.randomUUID()), Optional.of(Map.of())}) {
+            assertThatThrownBy(() -> codec.encode(value))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Tipo não suportado no cache compartilhado");
+        }
+    }
+
+    @Test
+    void decodeRejectsClassesOutsideTheApplication() throws Exception {
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+        byte[] value = smile.writeValueAsBytes(List.of(1, "VALUE", "java.util.Date", 0));
+        byte[] list = smile.writeValueAsBytes(List.of(1, "LIST", "java.util.Date", List.of(0)));
+
+        for (byte[] bytes : List.of(value, list)) {
+            assertThatThrownBy(() -> codec.decode(bytes))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Valor em cache não decodificável");
+        }
+    }
+
+    @Test
+    void decodeRejectsUnknownFormat() throws Exception {
+        byte[] bytes = new ObjectMapper(new SmileFactory()).writeValueAsBytes(List.of(2, "VALUE", BreedSummary.class.getName(), Map.of()));
+
+        assertThatThrownBy(() -> codec.decode(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Formato de valor em cache não reconhecido");
+    }
+}
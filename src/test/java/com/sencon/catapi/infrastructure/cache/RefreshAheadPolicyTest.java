@@ -0,0 +1,112 @@
+package com.sencon.catapi.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshAheadPolicyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final List<Object> stored = new ArrayList<>();
+
+    // O executor só guarda a tarefa: o teste decide quando a recarga termina
+    private final RefreshAheadPolicy policy = new RefreshAheadPolicy("breeds", Duration.ofMinutes(10),
+            Duration.ofMinutes(1), scheduled::add, meterRegistry);
+
+    @Test
+    void reloadCompletingAfterCancelIsDiscarded() {
+        assertThat(policy.refresh("key", () -> "new", stored::add)).isTrue();
+
+        policy.cancel("key");
+        runScheduled();
+
+        assertThat(stored).isEmpty();
+        assertThat(count("discarded")).isEqualTo(1);
+        assertThat(count("success")).isZero();
+    }
+
+    @Test
+    void asyncReloadCompletingAfterCancelIsDiscarded() {
+        CompletableFuture<String> load = new CompletableFuture<>();
+        assertThat(policy.refreshAsync("key", () -> load, stored::add)).isTrue();
+        runScheduled();
+
+        policy.cancel("key");
+        load.complete("new");
+
+        assertThat(stored).isEmpty();
+        assertThat(count("discarded")).isEqualTo(1);
+    }
+
+    @Test
+    void reloadCompletingAfterCancelAllIsDiscarded() {
+        policy.refresh("a", () -> "new-a", stored::add);
+        policy.refresh("b", () -> "new-b", stored::add);
+
+        policy.cancelAll();
+        runScheduled();
+
+        assertThat(stored).isEmpty();
+        assertThat(count("discarded")).isEqualTo(2);
+    }
+
+    @Test
+    void reloadStartedAfterCancelIsStored() {
+        policy.refresh("key", () -> "stale", stored::add);
+        policy.cancel("key");
+        policy.refresh("key", () -> "fresh", stored::add);
+
+        runScheduled();
+
+        assertThat(stored).containsExactly("fresh");
+        assertThat(count("discarded")).isEqualTo(1);
+        assertThat(count("success")).isEqualTo(1);
+    }
+
+    @Test
+    void reloadWithoutCancelIsStoredOnce() {
+        assertThat(policy.refresh("key", () -> "new", stored::add)).isTrue();
+        assertThat(policy.refresh("key", () -> "again", stored::add)).isFalse();
+
+        runScheduled();
+
+        assertThat(stored).containsExactly("new");
+        assertThat(count("success")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedReloadFreesTheKey() {
+        RefreshAheadPolicy rejecting = new RefreshAheadPolicy("breeds", Duration.ofMinutes(10), Duration.ofMinutes(1),
+                task -> { throw new RejectedExecutionException(); }, meterRegistry);
+
+        assertThat(rejecting.refresh("key", () -> "new", stored::add)).isFalse();
+        assertThat(rejecting.refresh("key", () -> "new", stored::add)).isFalse();
+        assertThat(count("rejected")).isEqualTo(2);
+    }
+
+    @Test
+    void windowMustBeShorterThanTimeToLive() {
+        assertThatThrownBy(() -> new RefreshAheadPolicy("breeds", Duration.ofMinutes(1), Duration.ofMinutes(1),
+                Runnable::run, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void runScheduled() {
+        List<Runnable> tasks = List.copyOf(scheduled);
+        scheduled.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("catapi.cache.refresh").tag("cache", "breeds").tag("result", result).counter().count();
+    }
+}
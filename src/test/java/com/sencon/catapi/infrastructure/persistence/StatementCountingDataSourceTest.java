@@ -0,0 +1,81 @@
+package com.sencon.catapi.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatementCountingDataSourceTest {
+
+    private final Connection target = mock(Connection.class);
+    private final StatementCountingDataSource dataSource = new StatementCountingDataSource(dataSource(target));
+
+    @Test
+    void countsStatementsPreparedInsideCount() {
+        StatementCountingDataSource.Counted<String> counted = StatementCountingDataSource.count(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.prepareStatement("SELECT 1");
+                connection.createStatement();
+                connection.setReadOnly(true);
+                return "ok";
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(counted.result()).isEqualTo("ok");
+        assertThat(counted.statements()).isEqualTo(2);
+    }
+
+    @Test
+    void nestedCountsAddUpInTheOuterOne() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        StatementCountingDataSource.Counted<Integer> outer = StatementCountingDataSource.count(() -> {
+            prepare(connection);
+            return StatementCountingDataSource.count(() -> {
+                prepare(connection);
+                prepare(connection);
+                return null;
+            }).statements();
+        });
+
+        assertThat(outer.result()).isEqualTo(2);
+        assertThat(outer.statements()).isEqualTo(3);
+    }
+
+    @Test
+    void delegatesToTheTargetConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.prepareStatement("SELECT 1");
+        connection.close();
+
+        verify(target).prepareStatement("SELECT 1");
+        verify(target).close();
+        assertThat(connection).isEqualTo(connection).isNotEqualTo(target);
+    }
+
+    private static void prepare(Connection connection) {
+        try {
+            connection.prepareStatement("SELECT 1");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static DataSource dataSource(Connection connection) {
+        DataSource dataSource = mock(DataSource.class);
+        try {
+            when(dataSource.getConnection()).thenReturn(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return dataSource;
+    }
+}